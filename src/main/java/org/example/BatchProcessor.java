@@ -0,0 +1,299 @@
+package org.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batch mode: runs the pipeline over many graph files in one JVM.
+ * A small pool of I/O threads reads files into a bounded queue while a fixed
+ * pool of compute threads (one per core by default) parses and processes
+ * them, so reading overlaps with computation and at most
+ * {@code queueCapacity} unprocessed files are held in memory at a time.
+ * Usage: --batch &lt;dir|glob&gt; [--out summary.csv] [--threads N] [--io-threads N]
+ */
+public class BatchProcessor {
+
+    /**
+     * One line of the consolidated summary.
+     */
+    public static class Summary {
+        public final String file;
+        public final int vertices;
+        public final int edges;
+        public final int sccCount;
+        public final int largestScc;
+        public final int condensationVertices;
+        public final int criticalPathLength;
+        public final double sccMillis;
+        public final double topoMillis;
+        public final double shortestMillis;
+        public final double longestMillis;
+        public final double totalMillis;
+        public final String error;
+
+        Summary(String file, Main.GraphData data, Main.PipelineResult result, long totalNanos) {
+            this.file = file;
+            this.vertices = data.graph.getVertexCount();
+            this.edges = data.edgeCount;
+            this.sccCount = result.sccs.size();
+            int largest = 0;
+            for (List<Integer> scc : result.sccs) {
+                largest = Math.max(largest, scc.size());
+            }
+            this.largestScc = largest;
+            this.condensationVertices = result.condensationVertexCount;
+            this.criticalPathLength = result.sccOrder == null ? -1 : result.criticalPathLength();
+            this.sccMillis = result.sccMetrics.getElapsedTimeMillis();
+            this.topoMillis = result.topoMetrics.getElapsedTimeMillis();
+            this.shortestMillis = result.shortestMetrics.getElapsedTimeMillis();
+            this.longestMillis = result.longestMetrics.getElapsedTimeMillis();
+            this.totalMillis = totalNanos / 1_000_000.0;
+            this.error = result.sccOrder == null ? "cycle in condensation graph" : null;
+        }
+
+        Summary(String file, String error) {
+            this.file = file;
+            this.vertices = 0;
+            this.edges = 0;
+            this.sccCount = 0;
+            this.largestScc = 0;
+            this.condensationVertices = 0;
+            this.criticalPathLength = -1;
+            this.sccMillis = 0;
+            this.topoMillis = 0;
+            this.shortestMillis = 0;
+            this.longestMillis = 0;
+            this.totalMillis = 0;
+            this.error = error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    private static class LoadedFile {
+        final int index;
+        final Path path;
+        final String content;
+        final String error;
+
+        LoadedFile(int index, Path path, String content, String error) {
+            this.index = index;
+            this.path = path;
+            this.content = content;
+            this.error = error;
+        }
+    }
+
+    private static final LoadedFile END = new LoadedFile(-1, null, null, null);
+    private static final long POLL_MILLIS = 100;
+
+    private final int computeThreads;
+    private final int ioThreads;
+    private final int queueCapacity;
+
+    public BatchProcessor(int computeThreads, int ioThreads) {
+        this.computeThreads = computeThreads;
+        this.ioThreads = ioThreads;
+        this.queueCapacity = 2 * computeThreads;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Usage: --batch <dir|glob> [--out summary.csv] [--threads N] [--io-threads N]");
+            return;
+        }
+
+        String pattern = args[0];
+        Path out = Paths.get("batch_summary.csv");
+        int threads = Runtime.getRuntime().availableProcessors();
+        int ioThreads = 4;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--out": out = Paths.get(args[i + 1]); break;
+                case "--threads": threads = Integer.parseInt(args[i + 1]); break;
+                case "--io-threads": ioThreads = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        List<Path> files = expand(pattern);
+        System.out.println("=== Batch mode ===");
+        System.out.println("Files: " + files.size() + ", compute threads: " + threads + ", I/O threads: " + ioThreads);
+
+        long start = System.nanoTime();
+        List<Summary> summaries = new BatchProcessor(threads, ioThreads).process(files);
+        double wallMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        writeSummary(summaries, out);
+
+        int failed = 0;
+        double busyMillis = 0;
+        for (Summary summary : summaries) {
+            if (!summary.isSuccess()) failed++;
+            busyMillis += summary.totalMillis;
+        }
+        System.out.printf("Processed %d files (%d failed) in %.1f ms, %.1f files/s, %.1f ms of compute%n",
+                summaries.size(), failed, wallMillis, summaries.size() * 1000.0 / wallMillis, busyMillis);
+        System.out.println("Summary written to " + out);
+    }
+
+    /**
+     * Expands a directory (all *.json files in it) or a file-name glob such as data/*.json.
+     * @return matching files in name order
+     */
+    public static List<Path> expand(String pattern) throws IOException {
+        Path path = Paths.get(pattern);
+        Path dir;
+        String glob;
+        if (Files.isDirectory(path)) {
+            dir = path;
+            glob = "*.json";
+        } else {
+            dir = path.getParent() == null ? Paths.get(".") : path.getParent();
+            glob = path.getFileName().toString();
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Processes all files and returns one summary per file, in input order.
+     * A file that fails in any way, including an Error such as running out of
+     * memory, gets an error summary and does not stop the batch. Readers and
+     * the caller only wait on the queue while some worker is still taking
+     * from it, and a file that was never processed gets an error summary too.
+     */
+    public List<Summary> process(List<Path> files) throws InterruptedException {
+        Summary[] summaries = new Summary[files.size()];
+        BlockingQueue<LoadedFile> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger liveWorkers = new AtomicInteger(computeThreads);
+
+        ExecutorService readers = Executors.newFixedThreadPool(ioThreads);
+        ExecutorService workers = Executors.newFixedThreadPool(computeThreads);
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                final int index = i;
+                final Path file = files.get(i);
+                readers.execute(() -> {
+                    LoadedFile loaded;
+                    try {
+                        loaded = new LoadedFile(index, file,
+                                new String(Files.readAllBytes(file), StandardCharsets.UTF_8), null);
+                    } catch (IOException | Error e) {
+                        loaded = new LoadedFile(index, file, null, e.toString());
+                    }
+                    try {
+                        offer(queue, loaded, liveWorkers);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            for (int t = 0; t < computeThreads; t++) {
+                workers.execute(() -> {
+                    try {
+                        LoadedFile loaded;
+                        while ((loaded = queue.take()) != END) {
+                            summaries[loaded.index] = compute(loaded);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        liveWorkers.decrementAndGet();
+                    }
+                });
+            }
+
+            readers.shutdown();
+            while (!readers.awaitTermination(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                // Readers give up by themselves once no worker is left
+            }
+            for (int t = 0; t < computeThreads; t++) {
+                if (!offer(queue, END, liveWorkers)) break;
+            }
+            workers.shutdown();
+            while (!workers.awaitTermination(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                // Every worker ends at END or when interrupted
+            }
+        } finally {
+            readers.shutdownNow();
+            workers.shutdownNow();
+        }
+
+        for (int i = 0; i < summaries.length; i++) {
+            if (summaries[i] == null) {
+                summaries[i] = new Summary(files.get(i).toString(), "not processed");
+            }
+        }
+        return Arrays.asList(summaries);
+    }
+
+    /**
+     * Puts into the queue, waiting only while some worker can still take from it.
+     * @return false if every worker has stopped
+     */
+    private static boolean offer(BlockingQueue<LoadedFile> queue, LoadedFile loaded, AtomicInteger liveWorkers)
+            throws InterruptedException {
+        while (!queue.offer(loaded, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (liveWorkers.get() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Summary compute(LoadedFile loaded) {
+        String name = loaded.path.toString();
+        if (loaded.error != null) {
+            return new Summary(name, loaded.error);
+        }
+        try {
+            long start = System.nanoTime();
+            Main.GraphData data = Main.parseGraphJson(loaded.content);
+            Main.PipelineResult result = Main.runPipeline(data);
+            return new Summary(name, data, result, System.nanoTime() - start);
+        } catch (Throwable e) {
+            // Includes OutOfMemoryError on one big file: the worker goes on with the next
+            return new Summary(name, e.toString());
+        }
+    }
+
+    static void writeSummary(List<Summary> summaries, Path out) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            writer.println("file,vertices,edges,sccs,largest_scc,condensation_vertices,critical_path_length,"
+                    + "scc_ms,topo_ms,shortest_ms,longest_ms,total_ms,error");
+            for (Summary s : summaries) {
+                writer.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%s",
+                        csv(s.file), s.vertices, s.edges, s.sccCount, s.largestScc, s.condensationVertices,
+                        s.criticalPathLength, s.sccMillis, s.topoMillis, s.shortestMillis, s.longestMillis,
+                        s.totalMillis, s.error == null ? "" : csv(s.error)));
+            }
+        }
+    }
+
+    /**
+     * Quotes a CSV field if it contains a separator, quote or line break.
+     */
+    static String csv(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,459 @@
+package org.example;
+
+import org.example.graph.CsrGraph;
+import org.example.graph.EdgeNormalizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel loader for plain-text edge lists, one {@code u v [w]} edge per line.
+ * Ids and weights are separated by spaces or tabs, the weight defaults to 1,
+ * and lines starting with '#' or '%' are comments. The vertex count is the
+ * largest id plus one, so ids must stay below {@code Integer.MAX_VALUE - 8}
+ * for the per-vertex arrays to be allocatable.
+ * The file is memory-mapped and split at line boundaries into chunks that are
+ * parsed concurrently straight from the mapped bytes. The CSR is then built in
+ * parallel: per-partition degree counts, a blocked prefix sum over vertices,
+ * and a scatter in which every partition writes its own disjoint slots. Edges
+ * of a vertex keep their file order, so the result does not depend on the
+ * number of threads.
+ */
+public class EdgeListLoader {
+
+    // Upper bound per chunk; also keeps every mapping far below the 2 GB limit
+    private static final long MAX_CHUNK_BYTES = 64L << 20;
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    // Exclusive bound on vertex ids: the largest array length, minus one for CSR offsets
+    private static final int MAX_VERTEX_ID = Integer.MAX_VALUE - 8;
+
+    private final ForkJoinPool pool;
+
+    public EdgeListLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public EdgeListLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Loads the file into a CSR graph.
+     * @throws IllegalArgumentException on a malformed line (reported by byte offset)
+     */
+    public CsrGraph load(Path file) throws IOException {
+        EdgeChunk[] chunks = parseChunks(file);
+        return buildCsr(chunks, maxId(chunks) + 1, edgeCount(chunks));
+    }
+
+    /**
+     * Loads the file and passes its edges, in file order, through the
+     * normalizer instead of building the CSR directly, so duplicates and
+     * self-loops are merged or dropped and counted.
+     * @throws IllegalArgumentException on a malformed line (reported by byte offset)
+     */
+    public EdgeNormalizer.Result load(Path file, EdgeNormalizer normalizer) throws IOException {
+        EdgeChunk[] chunks = parseChunks(file);
+        int m = edgeCount(chunks);
+        int[] start = new int[chunks.length + 1];
+        for (int c = 0; c < chunks.length; c++) {
+            start[c + 1] = start[c] + chunks[c].size;
+        }
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        parallelFor(chunks.length, c -> {
+            EdgeChunk chunk = chunks[c];
+            System.arraycopy(chunk.sources, 0, sources, start[c], chunk.size);
+            System.arraycopy(chunk.targets, 0, targets, start[c], chunk.size);
+            System.arraycopy(chunk.weights, 0, weights, start[c], chunk.size);
+        });
+        int n = maxId(chunks) + 1;
+        Arrays.fill(chunks, null);
+        return normalizer.normalize(n, sources, targets, weights, m);
+    }
+
+    /**
+     * Receives the edges of one chunk of the file from {@link #scan}.
+     */
+    public interface EdgeSink {
+        void accept(int[] sources, int[] targets, int[] weights, int count) throws IOException;
+    }
+
+    /**
+     * Parses the file and hands its edges to the sink chunk by chunk, in file
+     * order, without building a graph. Chunks are parsed in parallel in
+     * batches of one per thread, so at most one batch is held at a time.
+     * @return the largest vertex id, or -1 if the file has no edges
+     * @throws IllegalArgumentException on a malformed line (reported by byte offset)
+     */
+    public int scan(Path file, EdgeSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            int chunkCount = bounds.length - 1;
+            int batch = Math.max(1, pool.getParallelism());
+            EdgeChunk[] chunks = new EdgeChunk[batch];
+            int maxId = -1;
+            for (int from = 0; from < chunkCount; from += batch) {
+                int first = from;
+                int size = Math.min(batch, chunkCount - from);
+                try {
+                    parallelFor(size, c -> chunks[c] = parse(channel, bounds[first + c], bounds[first + c + 1]));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                for (int c = 0; c < size; c++) {
+                    sink.accept(chunks[c].sources, chunks[c].targets, chunks[c].weights, chunks[c].size);
+                    maxId = Math.max(maxId, chunks[c].maxId);
+                    chunks[c] = null;
+                }
+            }
+            return maxId;
+        }
+    }
+
+    private EdgeChunk[] parseChunks(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            int chunkCount = bounds.length - 1;
+
+            EdgeChunk[] chunks = new EdgeChunk[chunkCount];
+            try {
+                parallelFor(chunkCount, c -> chunks[c] = parse(channel, bounds[c], bounds[c + 1]));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return chunks;
+        }
+    }
+
+    private static int maxId(EdgeChunk[] chunks) {
+        int maxId = -1;
+        for (EdgeChunk chunk : chunks) {
+            maxId = Math.max(maxId, chunk.maxId);
+        }
+        return maxId;
+    }
+
+    private static int edgeCount(EdgeChunk[] chunks) {
+        long m = 0;
+        for (EdgeChunk chunk : chunks) {
+            m += chunk.size;
+        }
+        if (m > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges for a CSR graph: " + m);
+        }
+        return (int) m;
+    }
+
+    /**
+     * Splits the file into chunks that start right after a newline.
+     * @return chunk start offsets followed by the file size
+     */
+    private long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long target = size / ((long) pool.getParallelism() * CHUNKS_PER_THREAD);
+        target = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, target));
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer window = ByteBuffer.allocate(64 * 1024);
+        long last = 0;
+        for (long nominal = target; nominal < size; nominal += target) {
+            if (nominal <= last) continue;
+            long boundary = nextLineStart(channel, nominal, window);
+            if (boundary < size && boundary > last) {
+                bounds.add(boundary);
+                last = boundary;
+            }
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Offset of the first line that starts at or after position.
+     */
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer window) throws IOException {
+        long pos = position - 1;
+        while (true) {
+            window.clear();
+            int read = channel.read(window, pos);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+    }
+
+    private static EdgeChunk parse(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Parser(buffer, start).parse();
+    }
+
+    private CsrGraph buildCsr(EdgeChunk[] chunks, int n, int m) {
+        // Consecutive chunks form one partition per thread, so count arrays cost n ints per thread
+        int partitions = Math.max(1, Math.min(chunks.length, pool.getParallelism()));
+        int[] firstChunk = new int[partitions + 1];
+        for (int p = 0; p <= partitions; p++) {
+            firstChunk[p] = (int) ((long) p * chunks.length / partitions);
+        }
+
+        // 1. Per-partition out-degree counts
+        int[][] counts = new int[partitions][];
+        parallelFor(partitions, p -> {
+            int[] count = new int[n];
+            for (int c = firstChunk[p]; c < firstChunk[p + 1]; c++) {
+                EdgeChunk chunk = chunks[c];
+                for (int i = 0; i < chunk.size; i++) {
+                    count[chunk.sources[i]]++;
+                }
+            }
+            counts[p] = count;
+        });
+
+        // 2. Blocked prefix sum: block totals, a short sequential scan, then local scans.
+        // The local scan turns counts[p][u] into partition p's first slot for u.
+        int blocks = Math.max(1, Math.min(n, pool.getParallelism() * CHUNKS_PER_THREAD));
+        int[] blockTotal = new int[blocks];
+        parallelFor(blocks, b -> {
+            int total = 0;
+            for (int u = blockStart(b, blocks, n); u < blockStart(b + 1, blocks, n); u++) {
+                for (int[] count : counts) {
+                    total += count[u];
+                }
+            }
+            blockTotal[b] = total;
+        });
+        int[] blockOffset = new int[blocks];
+        for (int b = 1; b < blocks; b++) {
+            blockOffset[b] = blockOffset[b - 1] + blockTotal[b - 1];
+        }
+
+        int[] offsets = new int[n + 1];
+        parallelFor(blocks, b -> {
+            int running = blockOffset[b];
+            for (int u = blockStart(b, blocks, n); u < blockStart(b + 1, blocks, n); u++) {
+                offsets[u] = running;
+                for (int[] count : counts) {
+                    int c = count[u];
+                    count[u] = running;
+                    running += c;
+                }
+            }
+        });
+        offsets[n] = m;
+
+        // 3. Scatter: partitions own disjoint slots of every vertex
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        parallelFor(partitions, p -> {
+            int[] next = counts[p];
+            for (int c = firstChunk[p]; c < firstChunk[p + 1]; c++) {
+                EdgeChunk chunk = chunks[c];
+                for (int i = 0; i < chunk.size; i++) {
+                    int slot = next[chunk.sources[i]]++;
+                    targets[slot] = chunk.targets[i];
+                    weights[slot] = chunk.weights[i];
+                }
+                chunks[c] = null;
+            }
+        });
+
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    private static int blockStart(int b, int blocks, int n) {
+        return (int) ((long) b * n / blocks);
+    }
+
+    private void parallelFor(int count, IntConsumer body) {
+        if (count == 1) {
+            body.accept(0);
+        } else if (count > 1) {
+            pool.invoke(new RangeAction(body, 0, count));
+        }
+    }
+
+    private static class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        RangeAction(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(body, from, mid), new RangeAction(body, mid, to));
+        }
+    }
+
+    /**
+     * Edges parsed from one chunk, in file order.
+     */
+    private static class EdgeChunk {
+        int[] sources;
+        int[] targets;
+        int[] weights;
+        int size;
+        int maxId = -1;
+
+        EdgeChunk(int capacity) {
+            sources = new int[capacity];
+            targets = new int[capacity];
+            weights = new int[capacity];
+        }
+
+        void add(int u, int v, int w) {
+            if (size == sources.length) {
+                int capacity = Math.max(16, 2 * size);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[size] = u;
+            targets[size] = v;
+            weights[size++] = w;
+            maxId = Math.max(maxId, Math.max(u, v));
+        }
+    }
+
+    /**
+     * Parses integers directly from the mapped bytes, without creating Strings.
+     */
+    private static class Parser {
+        private final ByteBuffer buffer;
+        private final long fileOffset;
+        private final int limit;
+        private int pos;
+
+        Parser(ByteBuffer buffer, long fileOffset) {
+            this.buffer = buffer;
+            this.fileOffset = fileOffset;
+            this.limit = buffer.limit();
+        }
+
+        EdgeChunk parse() {
+            // Lines of "12345 67890 3\n" are ~14 bytes; start a little above that
+            EdgeChunk chunk = new EdgeChunk(limit / 12 + 16);
+            while (pos < limit) {
+                skipBlanks();
+                if (pos == limit) break;
+                byte b = buffer.get(pos);
+                if (b == '\n') {
+                    pos++;
+                    continue;
+                }
+                if (b == '#' || b == '%') {
+                    skipLine();
+                    continue;
+                }
+
+                int u = readInt(false);
+                skipBlanks();
+                int v = readInt(false);
+                skipBlanks();
+                int w = 1;
+                if (!atLineEnd()) {
+                    w = readInt(true);
+                    skipBlanks();
+                }
+                if (!atLineEnd()) {
+                    throw malformed("expected end of line");
+                }
+                chunk.add(u, v, w);
+            }
+            return chunk;
+        }
+
+        private int readInt(boolean signed) {
+            boolean negative = false;
+            if (signed && pos < limit && buffer.get(pos) == '-') {
+                negative = true;
+                pos++;
+            }
+            int start = pos;
+            long value = 0;
+            while (pos < limit) {
+                int digit = buffer.get(pos) - '0';
+                if (digit < 0 || digit > 9) break;
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw malformed("integer out of range");
+                }
+                pos++;
+            }
+            if (pos == start) {
+                throw malformed(signed ? "expected an integer" : "expected a vertex id");
+            }
+            if (negative) value = -value;
+            if (value > Integer.MAX_VALUE) {
+                throw malformed("integer out of range");
+            }
+            if (!signed && value >= MAX_VERTEX_ID) {
+                throw malformed("vertex id out of range");
+            }
+            return (int) value;
+        }
+
+        private void skipBlanks() {
+            while (pos < limit) {
+                byte b = buffer.get(pos);
+                if (b != ' ' && b != '\t' && b != '\r') break;
+                pos++;
+            }
+        }
+
+        private void skipLine() {
+            while (pos < limit && buffer.get(pos++) != '\n') {
+                // consume
+            }
+        }
+
+        private boolean atLineEnd() {
+            return pos == limit || buffer.get(pos) == '\n';
+        }
+
+        private IllegalArgumentException malformed(String reason) {
+            return new IllegalArgumentException("Malformed edge list at byte " + (fileOffset + pos) + ": " + reason);
+        }
+    }
+}
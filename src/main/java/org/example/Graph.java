@@ -1,15 +1,19 @@
 package org.example;
 
+import org.example.graph.EdgeCursor;
+import org.example.graph.IndexedGraphView;
+
 import java.util.*;
 
 /**
  * Main Graph class representing a directed weighted graph.
  */
-public class Graph {
+public class Graph implements IndexedGraphView {
 
     private final int n;
     private final List<List<Edge>> adj;
     private final boolean directed;
+    private long edgeCount;
 
     public static class Edge {
         public final int to;
@@ -32,15 +36,70 @@ public class Graph {
 
     public void addEdge(int u, int v, int weight) {
         adj.get(u).add(new Edge(v, weight));
+        edgeCount++;
         if (!directed) {
             adj.get(v).add(new Edge(u, weight));
+            edgeCount++;
+        }
+    }
+
+    /**
+     * Replaces the weight of every u->v edge (parallel arcs included).
+     * @return number of edges updated
+     */
+    public int setEdgeWeight(int u, int v, int weight) {
+        int updated = updateWeight(u, v, weight);
+        if (!directed && u != v) {
+            updateWeight(v, u, weight);
+        }
+        return updated;
+    }
+
+    private int updateWeight(int u, int v, int weight) {
+        List<Edge> edges = adj.get(u);
+        int updated = 0;
+        for (int i = 0; i < edges.size(); i++) {
+            if (edges.get(i).to == v) {
+                edges.set(i, new Edge(v, weight));
+                updated++;
+            }
         }
+        return updated;
     }
 
+    @Override
     public int getVertexCount() {
         return n;
     }
 
+    /**
+     * Number of stored adjacency entries (an undirected edge counts twice).
+     */
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int getOutDegree(int u) {
+        return adj.get(u).size();
+    }
+
+    @Override
+    public int getTarget(int u, int i) {
+        return adj.get(u).get(i).to;
+    }
+
+    @Override
+    public int getWeight(int u, int i) {
+        return adj.get(u).get(i).weight;
+    }
+
+    @Override
+    public EdgeCursor cursor() {
+        return new Cursor();
+    }
+
     public List<Edge> getNeighbors(int u) {
         return adj.get(u);
     }
@@ -61,4 +120,33 @@ public class Graph {
         }
         return transpose;
     }
+
+    private class Cursor implements EdgeCursor {
+        private List<Edge> edges;
+        private int index;
+        private Edge current;
+
+        @Override
+        public void reset(int u) {
+            edges = adj.get(u);
+            index = 0;
+        }
+
+        @Override
+        public boolean next() {
+            if (index == edges.size()) return false;
+            current = edges.get(index++);
+            return true;
+        }
+
+        @Override
+        public int target() {
+            return current.to;
+        }
+
+        @Override
+        public int weight() {
+            return current.weight;
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package org.example;
+
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+
+/**
+ * Cheap statistics the planner bases its choices on, gathered in one
+ * Kahn-style pass over the graph: sizes, degree skew, and the number of
+ * levels that can be peeled off from the sources. If every vertex is peeled
+ * the graph is already a DAG, the level count is its exact depth, and the
+ * peel order is kept as a topological order.
+ */
+public class GraphStats {
+    public final int vertexCount;
+    public final long edgeCount;
+    public final int maxOutDegree;
+    /** Largest out-degree over the average out-degree (1 for regular graphs). */
+    public final double degreeSkew;
+    public final boolean dag;
+    /** Depth of a DAG; for cyclic graphs the number of levels peeled before the cycles. */
+    public final int depth;
+    /** Most vertices in one peeled level. */
+    public final int maxLevelWidth;
+    /** Fraction of edges pointing to a smaller id: 0 if ids follow a topological order, ~0.5 if arbitrary. */
+    public final double backwardEdgeShare;
+    public final long computeNanos;
+
+    /** Topological order when the graph is a DAG, otherwise null. */
+    final int[] topoOrder;
+
+    private GraphStats(int vertexCount, long edgeCount, int maxOutDegree, boolean dag, int depth,
+                       int maxLevelWidth, double backwardEdgeShare, long computeNanos, int[] topoOrder) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.maxOutDegree = maxOutDegree;
+        this.degreeSkew = edgeCount == 0 ? 1 : maxOutDegree / ((double) edgeCount / vertexCount);
+        this.dag = dag;
+        this.depth = depth;
+        this.maxLevelWidth = maxLevelWidth;
+        this.backwardEdgeShare = backwardEdgeShare;
+        this.computeNanos = computeNanos;
+        this.topoOrder = topoOrder;
+    }
+
+    /**
+     * The topological order carried over to the graph renumbered by rank
+     * (rank[v] = new id of v); the other fields still describe the input ids.
+     */
+    GraphStats relabeled(int[] rank) {
+        int[] order = null;
+        if (topoOrder != null) {
+            order = new int[topoOrder.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = rank[topoOrder[i]];
+            }
+        }
+        return new GraphStats(vertexCount, edgeCount, maxOutDegree, dag, depth, maxLevelWidth, backwardEdgeShare,
+                computeNanos, order);
+    }
+
+    public static GraphStats compute(GraphView graph) {
+        long start = System.nanoTime();
+        int n = graph.getVertexCount();
+        int[] inDegree = new int[n];
+        int maxOutDegree = 0;
+        long backwardEdges = 0;
+
+        EdgeCursor it = graph.cursor();
+        for (int u = 0; u < n; u++) {
+            maxOutDegree = Math.max(maxOutDegree, graph.getOutDegree(u));
+            it.reset(u);
+            while (it.next()) {
+                inDegree[it.target()]++;
+                if (it.target() < u) backwardEdges++;
+            }
+        }
+
+        // Peel level by level; queue[levelStart, levelEnd) is the current level
+        int[] queue = new int[n];
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) queue[tail++] = v;
+        }
+        int head = 0;
+        int depth = 0;
+        int maxLevelWidth = 0;
+        while (head < tail) {
+            int levelEnd = tail;
+            maxLevelWidth = Math.max(maxLevelWidth, levelEnd - head);
+            depth++;
+            for (; head < levelEnd; head++) {
+                it.reset(queue[head]);
+                while (it.next()) {
+                    if (--inDegree[it.target()] == 0) queue[tail++] = it.target();
+                }
+            }
+        }
+
+        boolean dag = tail == n;
+        long m = graph.getEdgeCount();
+        return new GraphStats(n, m, maxOutDegree, dag, depth, maxLevelWidth, m == 0 ? 0 : (double) backwardEdges / m,
+                System.nanoTime() - start, dag ? queue : null);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, m=%d, max out-degree=%d, skew=%.1f, depth=%d%s, DAG=%s",
+                vertexCount, edgeCount, maxOutDegree, degreeSkew, depth, dag ? "" : "+", dag ? "yes" : "no");
+    }
+}
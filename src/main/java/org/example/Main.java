@@ -1,13 +1,29 @@
 package org.example;
 
 import com.google.gson.*;
+import org.example.distributed.Coordinator;
+import org.example.graph.CsrGraph;
+import org.example.graph.EdgeNormalizer;
+import org.example.graph.GraphView;
+import org.example.graph.IndexedGraphView;
 import org.example.graph.dagscp.DAGShortestPath;
+import org.example.graph.dagscp.ParallelDAGShortestPath;
+import org.example.graph.dagscp.PredecessorIndex;
+import org.example.graph.reach.ReachabilityQuery;
+import org.example.graph.relabel.Relabeling;
+import org.example.graph.scc.Condensation;
+import org.example.graph.scc.KosarajuSCC;
+import org.example.graph.scc.PearceSCC;
 import org.example.graph.scc.TarjanSCC;
+import org.example.graph.sched.ListScheduler;
+import org.example.graph.topo.FeedbackArcSet;
 import org.example.graph.topo.TopologicalSort;
+import org.example.graph.wcc.WeakComponents;
 
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Main application for Smart City/Campus Scheduling.
@@ -15,7 +31,20 @@ import java.util.*;
  */
 public class Main {
 
+    /** Describes the pipeline configuration; part of the result cache key. */
+    static final String PIPELINE_OPTIONS = "planner=1,order=els-weighted-heap,source=vertex0,normalize=first";
+
     public static void main(String[] args) {
+        if (args.length >= 1 && args[0].equals("--batch")) {
+            try {
+                BatchProcessor.main(Arrays.copyOfRange(args, 1, args.length));
+            } catch (Exception e) {
+                System.err.println("Error in batch mode: " + e.getMessage());
+                e.printStackTrace();
+            }
+            return;
+        }
+
         String filename;
 
         // Если аргумент передан — используем его
@@ -34,78 +63,434 @@ public class Main {
         }
 
         try {
-            processTaskGraph(filename);
+            Path cacheDir = null;
+            long cacheMaxMb = 1024;
+            int[] descendantsOf = null;
+            int[] ancestorsOf = null;
+            int workers = 0;
+            int distributed = 0;
+            for (int i = 1; i + 1 < args.length; i += 2) {
+                switch (args[i]) {
+                    case "--cache-dir": cacheDir = Paths.get(args[i + 1]); break;
+                    case "--cache-max-mb": cacheMaxMb = Long.parseLong(args[i + 1]); break;
+                    case "--descendants": descendantsOf = parseIds(args[i + 1]); break;
+                    case "--ancestors": ancestorsOf = parseIds(args[i + 1]); break;
+                    case "--workers": workers = Integer.parseInt(args[i + 1]); break;
+                    case "--distributed": distributed = Integer.parseInt(args[i + 1]); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (descendantsOf != null || ancestorsOf != null) {
+                printImpact(filename, descendantsOf, ancestorsOf);
+                return;
+            }
+            if (workers > 0) {
+                printSchedule(filename, workers);
+                return;
+            }
+            if (distributed > 0) {
+                processDistributed(filename, distributed);
+                return;
+            }
+            ResultCache cache = cacheDir == null ? null : new ResultCache(cacheDir, cacheMaxMb << 20);
+            processTaskGraph(filename, cache);
         } catch (Exception e) {
             System.err.println("Error processing file: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Answers impact-analysis queries without running the pipeline.
+     * @param descendantsOf tasks whose downstream set is printed, or null
+     * @param ancestorsOf tasks whose upstream set is printed, or null
+     */
+    static void printImpact(String filename, int[] descendantsOf, int[] ancestorsOf) throws IOException {
+        ReachabilityQuery query = new ReachabilityQuery(loadGraph(filename));
+        if (descendantsOf != null) {
+            int[] ids = query.descendantIds(descendantsOf);
+            System.out.println("Blocked if " + Arrays.toString(descendantsOf) + " slip: "
+                    + ids.length + " tasks " + Arrays.toString(ids));
+        }
+        if (ancestorsOf != null) {
+            int[] ids = query.ancestorIds(ancestorsOf);
+            System.out.println("Must finish before " + Arrays.toString(ancestorsOf) + ": "
+                    + ids.length + " tasks " + Arrays.toString(ids));
+        }
+    }
+
+    /**
+     * Schedules the condensation DAG on a fixed number of workers. The input
+     * only has edge weights, so every task takes one time unit and a component
+     * takes as long as it has tasks.
+     */
+    static void printSchedule(String filename, int workers) throws IOException {
+        GraphView input = loadGraph(filename);
+        CsrGraph graph = input instanceof CsrGraph ? (CsrGraph) input : CsrGraph.from(input);
+        PearceSCC pearce = new PearceSCC(graph, new Metrics());
+        int[] componentOf = pearce.findComponents();
+        int componentCount = pearce.getComponentCount();
+        CsrGraph condensation = Condensation.build(graph, componentOf, componentCount);
+        List<Integer> sccOrder = new TopologicalSort(condensation, new Metrics()).sortKahn();
+
+        int[] durations = new int[componentCount];
+        for (int component : componentOf) {
+            durations[component]++;
+        }
+        Metrics metrics = new Metrics();
+        ListScheduler.Schedule schedule = new ListScheduler(condensation, metrics).schedule(sccOrder, durations, workers);
+
+        System.out.println("Schedule of " + componentCount + " SCCs on " + workers + " workers: makespan "
+                + schedule.makespan + ", utilization " + String.format("%.1f%%", 100 * schedule.utilization()));
+        if (componentCount <= 100) {
+            for (int c : sccOrder) {
+                System.out.println("  SCC " + c + ": worker " + schedule.worker[c]
+                        + ", [" + schedule.start[c] + ", " + schedule.finish[c] + ")");
+            }
+        }
+        System.out.println("Metrics: " + metrics);
+    }
+
+    /**
+     * Runs the pipeline with the edges spread over local worker processes.
+     * Edge lists are streamed from the file to the workers; JSON task graphs
+     * are parsed whole, as everywhere else, and then streamed.
+     */
+    static void processDistributed(String filename, int workers) throws IOException {
+        System.out.println("\n=== Smart City/Campus Task Scheduler ===");
+        System.out.println("Processing file: " + filename);
+
+        PipelineResult result;
+        try (Coordinator coordinator = new Coordinator(workers)) {
+            if (isEdgeList(filename)) {
+                // Streamed to the workers, never loaded here
+                result = coordinator.run(Paths.get(filename), -1);
+                if (coordinator.getDuplicates() > 0 || coordinator.getSelfLoops() > 0) {
+                    System.err.println("Warning: " + filename + " normalized: " + coordinator.getDuplicates()
+                            + " duplicates merged, " + coordinator.getSelfLoops() + " self-loops dropped");
+                }
+            } else {
+                GraphData data = loadGraphFromJson(filename);
+                result = coordinator.run(data.graph, data.source);
+                result.weightModel = data.weightModel;
+            }
+        }
+
+        System.out.println("Graph loaded: " + result.vertexCount + " vertices");
+        System.out.println("Weight model: " + result.weightModel);
+        System.out.println("Plan: " + result.plan);
+        System.out.println();
+
+        printReport(result);
+    }
+
+    private static int[] parseIds(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
     public static void processTaskGraph(String filename) throws IOException {
+        processTaskGraph(filename, null);
+    }
+
+    /**
+     * Processes a file, reusing a cached result for identical input when a cache is given.
+     */
+    public static void processTaskGraph(String filename, ResultCache cache) throws IOException {
         System.out.println("\n=== Smart City/Campus Task Scheduler ===");
         System.out.println("Processing file: " + filename);
 
-        // Load graph from JSON
-        GraphData data = loadGraphFromJson(filename);
-        Graph graph = data.graph;
+        long start = System.nanoTime();
+        PipelineResult result = loadOrCompute(filename, cache);
+        double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
 
-        System.out.println("Graph loaded: " + graph.getVertexCount() + " vertices");
-        System.out.println("Weight model: " + data.weightModel);
+        System.out.println("Graph loaded: " + result.vertexCount + " vertices" + (result.fromCache ? " (cached result)" : ""));
+        System.out.println("Weight model: " + result.weightModel);
+        System.out.println("Plan: " + result.plan);
+        if (cache != null) {
+            System.out.printf("Load + compute time: %.3fms%n", elapsedMillis);
+        }
         System.out.println();
 
+        printReport(result);
+    }
+
+    /**
+     * Returns the cached result for the file's contents if present; otherwise
+     * loads the graph, runs the pipeline and stores the result.
+     * @param cache result cache, or null to always compute
+     */
+    public static PipelineResult loadOrCompute(String filename, ResultCache cache) throws IOException {
+        Path path = Paths.get(filename);
+        String key = cache == null ? null : ResultCache.key(path, cacheOptions(Runtime.getRuntime().availableProcessors()));
+        PipelineResult result = cache == null ? null : cache.get(key);
+
+        if (result == null) {
+            // Load graph from JSON or a plain edge list
+            GraphData data = isEdgeList(filename) ? loadGraphFromEdgeList(path) : loadGraphFromJson(filename);
+            result = runPipeline(data);
+            if (cache != null) {
+                cache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pipeline options plus whether {@link #runPlanned} may partition. Given
+     * the file contents that is the only machine-dependent choice that
+     * changes the report (SCC numbering and orders), so results computed
+     * with and without partitioning never share a cache entry.
+     */
+    static String cacheOptions(int cores) {
+        return PIPELINE_OPTIONS + (cores > 1 ? ",partition=wcc" : ",partition=none");
+    }
+
+    /**
+     * Runs SCC detection, condensation, topological ordering and both path
+     * computations without printing anything, with engines chosen by the
+     * {@link Planner}.
+     */
+    static PipelineResult runPipeline(GraphData data) {
+        PipelineResult result = runPlanned(data.graph, data.source);
+        result.weightModel = data.weightModel;
+        return result;
+    }
+
+    /**
+     * Splits graphs that are not tiny into weakly connected components and,
+     * if the {@link Planner} finds the split worthwhile, runs the pipeline on
+     * them in parallel with {@link PartitionedPipeline}; otherwise runs it on
+     * the whole graph.
+     * @param source source vertex for the shortest paths, or -1 for vertex 0
+     */
+    public static PipelineResult runPlanned(GraphView input, int source) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        // Skip the pre-pass where the planner would not partition anyway
+        if (Planner.chooseLayout(input.getVertexCount(), input.getEdgeCount()) == PipelineOptions.Layout.CSR && cores > 1) {
+            WeakComponents weak = new WeakComponents(input);
+            int[] componentOf = weak.findComponents();
+            if (Planner.partition(weak.getComponentSizes(), input.getVertexCount(), cores)) {
+                return new PartitionedPipeline(input, componentOf, weak.getComponentCount(), ForkJoinPool.commonPool())
+                        .run(source);
+            }
+        }
+        return runPlannedWhole(input, source);
+    }
+
+    /**
+     * Chooses the layout, gathers {@link GraphStats} on it, lets the
+     * {@link Planner} pick the engines and runs the pipeline.
+     * @param source source vertex for the shortest paths, or -1 for vertex 0
+     */
+    public static PipelineResult runPlannedWhole(GraphView input, int source) {
+        boolean loadedAsCsr = input instanceof CsrGraph;
+        GraphView graph = input;
+        if (!loadedAsCsr && Planner.chooseLayout(input.getVertexCount(), input.getEdgeCount()) == PipelineOptions.Layout.CSR) {
+            graph = CsrGraph.from(input);
+        }
+        GraphStats stats = GraphStats.compute(graph);
+        PipelineOptions options = Planner.plan(stats);
+        PipelineResult result = runPipeline(graph, source, stats, options);
+        result.plan = Planner.describe(stats, options, loadedAsCsr);
+        return result;
+    }
+
+    /**
+     * Runs the pipeline with fixed engine choices.
+     * @param source source vertex for the shortest paths, or -1 for vertex 0
+     * @param stats required for {@link PipelineOptions.SccEngine#NONE}, otherwise may be null
+     */
+    public static PipelineResult runPipeline(GraphView input, int source, GraphStats stats, PipelineOptions options) {
+        PipelineResult result = new PipelineResult();
+        result.vertexCount = input.getVertexCount();
+        result.weightModel = "edge";
+        result.plan = options.toString();
+
+        GraphView graph = input;
+        if (options.layout == PipelineOptions.Layout.CSR && !(graph instanceof CsrGraph)) {
+            graph = CsrGraph.from(graph);
+        }
+        int n = graph.getVertexCount();
+
+        if (options.relabel != PipelineOptions.Relabel.NONE) {
+            // A DAG's stats pass already holds a topological order
+            Relabeling relabeling = options.relabel == PipelineOptions.Relabel.TOPOLOGICAL && stats != null && stats.dag
+                    ? Relabeling.fromOrder(graph, stats.topoOrder, ForkJoinPool.commonPool())
+                    : Relabeling.compute(graph, Relabeling.Strategy.valueOf(options.relabel.name()));
+            int relabeledSource = n == 0 ? source : relabeling.toRelabeled(sourceVertex(source, n));
+            GraphStats relabeledStats = stats == null ? null : stats.relabeled(relabeling.rank);
+            runPipeline(relabeling.graph, relabeledSource, relabeledStats, options.withRelabel(PipelineOptions.Relabel.NONE), result);
+            result.plan = options.toString();
+
+            // Only vertex ids need mapping back; everything else is indexed by SCC
+            List<List<Integer>> sccs = new ArrayList<>(result.sccs.size());
+            for (List<Integer> scc : result.sccs) {
+                sccs.add(relabeling.toOriginal(scc));
+            }
+            result.sccs = sccs;
+            if (result.taskOrder != null) {
+                result.taskOrder = relabeling.toOriginal(result.taskOrder);
+            }
+            return result;
+        }
+        runPipeline(graph, source, stats, options, result);
+        return result;
+    }
+
+    private static void runPipeline(GraphView graph, int source, GraphStats stats, PipelineOptions options,
+                                    PipelineResult result) {
+        int n = graph.getVertexCount();
+
         // Step 1: Find Strongly Connected Components
-        System.out.println("=== Step 1: Finding Strongly Connected Components ===");
-        Metrics sccMetrics = new Metrics();
-        TarjanSCC tarjan = new TarjanSCC(graph, sccMetrics);
-        List<List<Integer>> sccs = tarjan.findSCCs();
+        int[] componentOf;
+        int componentCount;
+        switch (options.sccEngine) {
+            case TARJAN: {
+                result.sccs = new TarjanSCC(graph, result.sccMetrics).findSCCs();
+                componentCount = result.sccs.size();
+                componentOf = new int[n];
+                for (int i = 0; i < componentCount; i++) {
+                    for (int v : result.sccs.get(i)) {
+                        componentOf[v] = i;
+                    }
+                }
+                break;
+            }
+            case PEARCE: {
+                IndexedGraphView indexed = graph instanceof IndexedGraphView ? (IndexedGraphView) graph : CsrGraph.from(graph);
+                PearceSCC pearce = new PearceSCC(indexed, result.sccMetrics);
+                componentOf = pearce.findComponents();
+                componentCount = pearce.getComponentCount();
+                break;
+            }
+            case KOSARAJU: {
+                KosarajuSCC kosaraju = new KosarajuSCC(graph, result.sccMetrics);
+                componentOf = kosaraju.findComponents();
+                componentCount = kosaraju.getComponentCount();
+                break;
+            }
+            default: {
+                if (stats == null || !stats.dag) {
+                    throw new IllegalArgumentException("scc=none requires stats of a DAG");
+                }
+                // Singleton components, numbered in reverse topological order like Tarjan's
+                componentOf = new int[n];
+                for (int i = 0; i < n; i++) {
+                    componentOf[stats.topoOrder[i]] = n - 1 - i;
+                }
+                componentCount = n;
+                break;
+            }
+        }
+        if (result.sccs == null) {
+            result.sccs = PearceSCC.toComponentLists(componentOf, componentCount);
+        }
 
+        // Step 2: Build Condensation Graph
+        CsrGraph condensation = Condensation.build(graph, componentOf, componentCount);
+        runCondensed(graph, condensation, componentOf, source, options, result);
+    }
+
+    /**
+     * Runs the pipeline from the topological sort on, for SCCs and a
+     * condensation computed elsewhere, such as by the multi-process
+     * {@link org.example.distributed.Coordinator}.
+     * @param graph task graph; only edges inside SCCs are read, to order their tasks
+     * @param componentOf SCC of every vertex
+     * @param condensation condensation DAG as {@link Condensation#build} makes it
+     * @param source source vertex for the shortest paths, or -1 for vertex 0
+     * @param plan description of how the SCCs were computed, for the report
+     */
+    public static PipelineResult runOnComponents(GraphView graph, int[] componentOf, int componentCount,
+                                                 CsrGraph condensation, int source, String plan) {
+        PipelineResult result = new PipelineResult();
+        result.vertexCount = graph.getVertexCount();
+        result.weightModel = "edge";
+        result.plan = plan;
+        result.sccs = PearceSCC.toComponentLists(componentOf, componentCount);
+        PipelineOptions options = new PipelineOptions(PipelineOptions.Layout.CSR, PipelineOptions.SccEngine.NONE,
+                PipelineOptions.TopoVariant.KAHN, PipelineOptions.PathDp.SEQUENTIAL);
+        runCondensed(graph, condensation, componentOf, source, options, result);
+        return result;
+    }
+
+    private static void runCondensed(GraphView graph, CsrGraph condensation, int[] componentOf, int source,
+                                     PipelineOptions options, PipelineResult result) {
+        int n = graph.getVertexCount();
+        result.condensationVertexCount = condensation.getVertexCount();
+
+        // Step 3: Topological Sort
+        TopologicalSort topoSort = new TopologicalSort(condensation, result.topoMetrics);
+        result.sccOrder = options.topoVariant == PipelineOptions.TopoVariant.KAHN ? topoSort.sortKahn() : topoSort.sortDFS();
+        if (result.sccOrder == null) {
+            return;
+        }
+        FeedbackArcSet.Result ordering = new FeedbackArcSet(graph, result.orderMetrics, true)
+                .orderTasks(result.sccOrder, result.sccs);
+        result.taskOrder = ordering.taskOrder;
+        result.violatedEdges = ordering.violatedEdges;
+        result.violatedWeight = ordering.violatedWeight;
+
+        // Step 4: Shortest Paths
+        result.sourceScc = n == 0 ? 0 : componentOf[sourceVertex(source, n)];
+
+        if (options.pathDp == PipelineOptions.PathDp.PARALLEL) {
+            PredecessorIndex index = new PredecessorIndex(condensation, result.sccOrder);
+            result.shortestResult = new ParallelDAGShortestPath(index, result.shortestMetrics).shortestPaths(result.sourceScc);
+            result.criticalResult = new ParallelDAGShortestPath(index, result.longestMetrics).findCriticalPath();
+            return;
+        }
+
+        DAGShortestPath dagSP = new DAGShortestPath(condensation, result.shortestMetrics);
+        result.shortestResult = dagSP.shortestPaths(result.sccOrder, result.sourceScc);
+
+        // Step 5: Longest Path (Critical Path)
+        DAGShortestPath dagLP = new DAGShortestPath(condensation, result.longestMetrics);
+        result.criticalResult = dagLP.findCriticalPath(result.sccOrder);
+    }
+
+    /**
+     * Vertex the shortest paths start from: the given source, or vertex 0 if
+     * there is none (-1, as for edge lists) or it is out of range. Every plan
+     * and the distributed mode resolve it the same way, so they report
+     * distances from the same component.
+     */
+    public static int sourceVertex(int source, int n) {
+        return source >= 0 && source < n ? source : 0;
+    }
+
+    static void printReport(PipelineResult result) {
+        List<List<Integer>> sccs = result.sccs;
+
+        System.out.println("=== Step 1: Finding Strongly Connected Components ===");
         System.out.println("Found " + sccs.size() + " SCCs:");
         for (int i = 0; i < sccs.size(); i++) {
             System.out.println("  SCC " + i + ": " + sccs.get(i) + " (size: " + sccs.get(i).size() + ")");
         }
-        System.out.println("Metrics: " + sccMetrics);
+        System.out.println("Metrics: " + metricsText(result, result.sccMetrics));
         System.out.println();
 
-        // Step 2: Build Condensation Graph
         System.out.println("=== Step 2: Building Condensation DAG ===");
-        Graph condensation = tarjan.buildCondensationGraph(sccs);
-        System.out.println("Condensation graph has " + condensation.getVertexCount() + " vertices");
+        System.out.println("Condensation graph has " + result.condensationVertexCount + " vertices");
         System.out.println();
 
-        // Step 3: Topological Sort
         System.out.println("=== Step 3: Topological Ordering ===");
-        Metrics topoMetrics = new Metrics();
-        TopologicalSort topoSort = new TopologicalSort(condensation, topoMetrics);
-        List<Integer> sccOrder = topoSort.sortKahn();
-
-        if (sccOrder == null) {
+        if (result.sccOrder == null) {
             System.out.println("ERROR: Cycle detected in condensation graph!");
             return;
         }
 
-        System.out.println("Topological order of SCCs: " + sccOrder);
-        List<Integer> taskOrder = TopologicalSort.deriveTaskOrder(sccOrder, sccs);
-        System.out.println("Derived task execution order: " + taskOrder);
-        System.out.println("Metrics: " + topoMetrics);
+        System.out.println("Topological order of SCCs: " + result.sccOrder);
+        System.out.println("Derived task execution order: " + result.taskOrder);
+        System.out.println("Dependencies violated inside SCCs: " + result.violatedEdges
+                + " (total weight " + result.violatedWeight + ")");
+        System.out.println("Ordering metrics: " + metricsText(result, result.orderMetrics));
+        System.out.println("Metrics: " + metricsText(result, result.topoMetrics));
         System.out.println();
 
-        // Step 4: Shortest Paths
         System.out.println("=== Step 4: Shortest Paths in Condensation DAG ===");
-        int sourceScc = 0;
-        if (data.source != -1) {
-            for (int i = 0; i < sccs.size(); i++) {
-                if (sccs.get(i).contains(data.source)) {
-                    sourceScc = i;
-                    break;
-                }
-            }
-        }
-
-        Metrics shortestMetrics = new Metrics();
-        DAGShortestPath dagSP = new DAGShortestPath(condensation, shortestMetrics);
-        DAGShortestPath.PathResult shortestResult = dagSP.shortestPaths(sccOrder, sourceScc);
-
-        System.out.println("Shortest distances from SCC " + sourceScc + ":");
+        DAGShortestPath.PathResult shortestResult = result.shortestResult;
+        System.out.println("Shortest distances from SCC " + result.sourceScc + ":");
         for (int i = 0; i < shortestResult.distances.length; i++) {
             if (shortestResult.distances[i] != Integer.MAX_VALUE) {
                 System.out.println("  To SCC " + i + ": " + shortestResult.distances[i]);
@@ -113,64 +498,180 @@ public class Main {
                 System.out.println("    Path: " + path);
             }
         }
-        System.out.println("Metrics: " + shortestMetrics);
+        System.out.println("Metrics: " + metricsText(result, result.shortestMetrics));
         System.out.println();
 
-        // Step 5: Longest Path (Critical Path)
         System.out.println("=== Step 5: Longest Path (Critical Path) ===");
-        Metrics longestMetrics = new Metrics();
-        DAGShortestPath dagLP = new DAGShortestPath(condensation, longestMetrics);
-        DAGShortestPath.PathResult criticalResult = dagLP.findCriticalPath(sccOrder);
-
-        int maxDist = Integer.MIN_VALUE;
-        int endVertex = -1;
-        for (int i = 0; i < criticalResult.distances.length; i++) {
-            if (criticalResult.distances[i] > maxDist) {
-                maxDist = criticalResult.distances[i];
-                endVertex = i;
-            }
-        }
-
-        System.out.println("Critical path length: " + maxDist);
+        int endVertex = result.criticalEndVertex();
+        System.out.println("Critical path length: " + result.criticalPathLength());
         if (endVertex != -1) {
-            List<Integer> criticalPath = criticalResult.reconstructPath(endVertex);
+            List<Integer> criticalPath = result.criticalResult.reconstructPath(endVertex);
             System.out.println("Critical path: " + criticalPath);
         }
-        System.out.println("Metrics: " + longestMetrics);
+        System.out.println("Metrics: " + metricsText(result, result.longestMetrics));
         System.out.println();
 
         System.out.println("=== Analysis Complete ===");
     }
 
+    private static String metricsText(PipelineResult result, Metrics metrics) {
+        return result.fromCache ? "(not measured, result loaded from cache)" : metrics.toString();
+    }
+
+    /**
+     * Everything the pipeline computes for one graph, plus per-phase metrics.
+     */
+    public static class PipelineResult {
+        int vertexCount;
+        String weightModel;
+        String plan;
+        boolean fromCache;
+        List<List<Integer>> sccs;
+        int condensationVertexCount;
+        List<Integer> sccOrder;
+        List<Integer> taskOrder;
+        int violatedEdges;
+        long violatedWeight;
+        int sourceScc;
+        DAGShortestPath.PathResult shortestResult;
+        DAGShortestPath.PathResult criticalResult;
+
+        final Metrics sccMetrics = new Metrics();
+        final Metrics topoMetrics = new Metrics();
+        final Metrics orderMetrics = new Metrics();
+        final Metrics shortestMetrics = new Metrics();
+        final Metrics longestMetrics = new Metrics();
+
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        public int getSccCount() {
+            return sccs.size();
+        }
+
+        public boolean isFromCache() {
+            return fromCache;
+        }
+
+        /** Engine choices, with the planner's statistics when it made them. */
+        public String getPlan() {
+            return plan;
+        }
+
+        public List<List<Integer>> getSccs() {
+            return sccs;
+        }
+
+        /** Shortest paths over the condensation, or null if ordering failed. */
+        public DAGShortestPath.PathResult getShortestPaths() {
+            return shortestResult;
+        }
+
+        int criticalEndVertex() {
+            int maxDist = Integer.MIN_VALUE;
+            int endVertex = -1;
+            for (int i = 0; i < criticalResult.distances.length; i++) {
+                if (criticalResult.distances[i] > maxDist) {
+                    maxDist = criticalResult.distances[i];
+                    endVertex = i;
+                }
+            }
+            return endVertex;
+        }
+
+        public int criticalPathLength() {
+            int endVertex = criticalEndVertex();
+            return endVertex == -1 ? Integer.MIN_VALUE : criticalResult.distances[endVertex];
+        }
+    }
+
     static class GraphData {
-        Graph graph;
+        GraphView graph;
+        EdgeNormalizer.Result normalization;
+        /** Edges of the normalized graph, for either format; an undirected JSON edge counts twice. */
+        int edgeCount;
         String weightModel;
         int source;
     }
 
-    private static GraphData loadGraphFromJson(String filename) throws IOException {
-        String content = new String(Files.readAllBytes(Paths.get(filename)));
+    /**
+     * Loads a graph file in either supported format (see {@link #isEdgeList}).
+     */
+    public static GraphView loadGraph(String filename) throws IOException {
+        return isEdgeList(filename) ? loadGraphFromEdgeList(Paths.get(filename)).graph : loadGraphFromJson(filename).graph;
+    }
+
+    static GraphData loadGraphFromJson(String filename) throws IOException {
+        GraphData data = parseGraphJson(new String(Files.readAllBytes(Paths.get(filename))));
+        warnIfNormalized(filename, data);
+        return data;
+    }
+
+    /**
+     * Files ending in .txt, .edges or .el are read as {@code u v [w]} edge lists.
+     */
+    static boolean isEdgeList(String filename) {
+        return filename.endsWith(".txt") || filename.endsWith(".edges") || filename.endsWith(".el");
+    }
+
+    static GraphData loadGraphFromEdgeList(Path file) throws IOException {
+        GraphData data = new GraphData();
+        data.normalization = new EdgeListLoader().load(file, new EdgeNormalizer());
+        warnIfNormalized(file.toString(), data);
+        data.graph = data.normalization.graph;
+        data.edgeCount = (int) data.graph.getEdgeCount();
+        data.weightModel = "edge";
+        data.source = -1;
+        return data;
+    }
+
+    /**
+     * Parses a JSON task graph and normalizes it with an {@link EdgeNormalizer}:
+     * duplicate edges keep the first weight, and self-loops and edges with ids
+     * outside [0, n) are dropped and counted in {@code GraphData.normalization}.
+     * An undirected edge becomes two arcs, as with {@link Graph#addEdge}.
+     */
+    static GraphData parseGraphJson(String content) {
         JsonObject json = JsonParser.parseString(content).getAsJsonObject();
 
         boolean directed = json.get("directed").getAsBoolean();
         int n = json.get("n").getAsInt();
 
-        Graph graph = new Graph(n, directed);
-
         JsonArray edges = json.getAsJsonArray("edges");
+        int arcs = directed ? edges.size() : 2 * edges.size();
+        int[] sources = new int[arcs];
+        int[] targets = new int[arcs];
+        int[] weights = new int[arcs];
+        int m = 0;
         for (JsonElement edgeElement : edges) {
             JsonObject edge = edgeElement.getAsJsonObject();
             int u = edge.get("u").getAsInt();
             int v = edge.get("v").getAsInt();
             int w = edge.get("w").getAsInt();
-            graph.addEdge(u, v, w);
+            sources[m] = u;
+            targets[m] = v;
+            weights[m++] = w;
+            if (!directed) {
+                sources[m] = v;
+                targets[m] = u;
+                weights[m++] = w;
+            }
         }
 
         GraphData data = new GraphData();
-        data.graph = graph;
+        data.normalization = new EdgeNormalizer().normalize(n, sources, targets, weights, m);
+        data.graph = data.normalization.graph;
+        data.edgeCount = (int) data.graph.getEdgeCount();
         data.weightModel = json.has("weight_model") ? json.get("weight_model").getAsString() : "edge";
         data.source = json.has("source") ? json.get("source").getAsInt() : -1;
 
         return data;
     }
+
+    private static void warnIfNormalized(String filename, GraphData data) {
+        if (!data.normalization.isClean()) {
+            System.err.println("Warning: " + filename + " normalized: " + data.normalization);
+        }
+    }
 }
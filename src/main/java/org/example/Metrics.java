@@ -36,6 +36,10 @@ public class Metrics {
         relaxations++;
     }
 
+    public void addRelaxations(int count) {
+        relaxations += count;
+    }
+
     public void incrementPushes() {
         pushes++;
     }
@@ -64,6 +68,18 @@ public class Metrics {
         return pops;
     }
 
+    /**
+     * Adds another run's counters and elapsed time to this one.
+     */
+    public void add(Metrics other) {
+        endTime += other.getElapsedTimeNanos();
+        dfsVisits += other.dfsVisits;
+        edgesExplored += other.edgesExplored;
+        relaxations += other.relaxations;
+        pushes += other.pushes;
+        pops += other.pops;
+    }
+
     public void reset() {
 
         startTime = 0;
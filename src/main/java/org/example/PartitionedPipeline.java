@@ -0,0 +1,215 @@
+package org.example;
+
+import org.example.Main.PipelineResult;
+import org.example.graph.CsrGraph;
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+import org.example.graph.dagscp.DAGShortestPath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the pipeline separately on the weakly connected components of a graph.
+ * No edge joins two components, so their SCCs, condensations, topological
+ * orders and paths are independent. Components are packed, in order, into
+ * groups of at least {@link #MIN_GROUP_SIZE} vertices plus edges, so tiny
+ * components do not each pay the fixed cost of a pipeline run, and into at
+ * most about {@link #TARGET_GROUPS} groups whatever the pool size, so the
+ * result does not depend on the thread count. Each group is
+ * relabeled into a compact {@link CsrGraph} and goes through
+ * {@link Main#runPlanned} on its own, all groups in parallel on a
+ * ForkJoinPool. The group results are then stitched back:
+ * SCC indices are offset group by group and vertex ids mapped back to global
+ * ones. The SCC order is the concatenation of the group orders, which is a
+ * valid topological order of the whole condensation.
+ * Metric times are summed over groups, so they measure work, not wall time.
+ */
+public class PartitionedPipeline {
+
+    static final long MIN_GROUP_SIZE = 1 << 15;
+    // A fixed count, not one per thread, so the grouping and with it the
+    // SCC numbering do not depend on the machine; plenty for load balance
+    static final int TARGET_GROUPS = 64;
+
+    private final GraphView graph;
+    private final int[] componentOf;
+    private final int componentCount;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param componentOf weak component of every vertex, from {@link org.example.graph.wcc.WeakComponents}
+     */
+    public PartitionedPipeline(GraphView graph, int[] componentOf, int componentCount, ForkJoinPool pool) {
+        this.graph = graph;
+        this.componentOf = componentOf;
+        this.componentCount = componentCount;
+        this.pool = pool;
+    }
+
+    /**
+     * @param source source vertex for the shortest paths, or -1 for vertex 0
+     */
+    public PipelineResult run(int source) {
+        int n = graph.getVertexCount();
+
+        // Pack consecutive components into groups
+        long[] weight = new long[componentCount];
+        for (int v = 0; v < n; v++) {
+            weight[componentOf[v]] += 1 + graph.getOutDegree(v);
+        }
+        long target = Math.max(MIN_GROUP_SIZE, (n + graph.getEdgeCount()) / TARGET_GROUPS);
+        int[] groupOf = new int[componentCount];
+        int groupCount = 0;
+        long filled = 0;
+        for (int c = 0; c < componentCount; c++) {
+            groupOf[c] = groupCount;
+            filled += weight[c];
+            if (filled >= target) {
+                groupCount++;
+                filled = 0;
+            }
+        }
+        if (filled > 0) {
+            groupCount++;
+        }
+
+        // Vertices of every group in ascending order; a vertex's local id is its index there
+        int[] groupStart = new int[groupCount + 1];
+        for (int v = 0; v < n; v++) {
+            groupStart[groupOf[componentOf[v]] + 1]++;
+        }
+        for (int g = 0; g < groupCount; g++) {
+            groupStart[g + 1] += groupStart[g];
+        }
+        int[] vertices = new int[n];
+        int[] localId = new int[n];
+        int[] fill = Arrays.copyOf(groupStart, groupCount);
+        for (int v = 0; v < n; v++) {
+            int g = groupOf[componentOf[v]];
+            localId[v] = fill[g] - groupStart[g];
+            vertices[fill[g]++] = v;
+        }
+
+        int sourceVertex = Main.sourceVertex(source, n);
+        int sourceGroup = n == 0 ? 0 : groupOf[componentOf[sourceVertex]];
+        int groups = groupCount;
+        PipelineResult[] parts = new PipelineResult[groups];
+        pool.submit(() -> IntStream.range(0, groups).parallel().forEach(g -> {
+            CsrGraph local = relabel(vertices, groupStart[g], groupStart[g + 1], localId);
+            int localSource = g == sourceGroup ? localId[sourceVertex] : -1;
+            parts[g] = Main.runPlannedWhole(local, localSource);
+        })).join();
+
+        return stitch(parts, vertices, groupStart, sourceGroup, n);
+    }
+
+    private CsrGraph relabel(int[] vertices, int from, int to, int[] localId) {
+        int size = to - from;
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = offsets[i] + graph.getOutDegree(vertices[from + i]);
+        }
+        int[] targets = new int[offsets[size]];
+        int[] weights = new int[offsets[size]];
+        EdgeCursor it = graph.cursor();
+        int e = 0;
+        for (int i = 0; i < size; i++) {
+            it.reset(vertices[from + i]);
+            while (it.next()) {
+                targets[e] = localId[it.target()];
+                weights[e++] = it.weight();
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    private PipelineResult stitch(PipelineResult[] parts, int[] vertices, int[] groupStart, int sourceGroup, int n) {
+        PipelineResult result = new PipelineResult();
+        result.vertexCount = n;
+        result.sccs = new ArrayList<>();
+        result.sccOrder = new ArrayList<>();
+        result.taskOrder = new ArrayList<>(n);
+
+        int[] sccOffset = new int[parts.length + 1];
+        int largest = 0;
+        for (int g = 0; g < parts.length; g++) {
+            PipelineResult part = parts[g];
+            sccOffset[g + 1] = sccOffset[g] + part.sccs.size();
+            if (part.vertexCount > parts[largest].vertexCount) {
+                largest = g;
+            }
+
+            int base = groupStart[g];
+            for (List<Integer> scc : part.sccs) {
+                List<Integer> global = new ArrayList<>(scc.size());
+                for (int v : scc) {
+                    global.add(vertices[base + v]);
+                }
+                result.sccs.add(global);
+            }
+            result.condensationVertexCount += part.condensationVertexCount;
+            if (part.sccOrder == null || result.sccOrder == null) {
+                result.sccOrder = null;
+                continue;
+            }
+            for (int c : part.sccOrder) {
+                result.sccOrder.add(sccOffset[g] + c);
+            }
+            for (int v : part.taskOrder) {
+                result.taskOrder.add(vertices[base + v]);
+            }
+            result.violatedEdges += part.violatedEdges;
+            result.violatedWeight += part.violatedWeight;
+
+            result.sccMetrics.add(part.sccMetrics);
+            result.topoMetrics.add(part.topoMetrics);
+            result.orderMetrics.add(part.orderMetrics);
+            result.shortestMetrics.add(part.shortestMetrics);
+            result.longestMetrics.add(part.longestMetrics);
+        }
+        result.plan = "partitioned into " + componentCount + " weak components in " + parts.length
+                + " groups; largest group: " + parts[largest].plan;
+        if (result.sccOrder == null) {
+            return result;
+        }
+
+        int total = sccOffset[parts.length];
+        PipelineResult sourcePart = parts[sourceGroup];
+        result.sourceScc = sccOffset[sourceGroup] + sourcePart.sourceScc;
+
+        // Only the source's group is reachable from it
+        int[] distances = new int[total];
+        int[] parent = new int[total];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        copyShifted(sourcePart.shortestResult, sccOffset[sourceGroup], distances, parent);
+        result.shortestResult = new DAGShortestPath.PathResult(distances, parent, result.sourceScc);
+
+        int[] longest = new int[total];
+        int[] longestParent = new int[total];
+        for (int g = 0; g < parts.length; g++) {
+            copyShifted(parts[g].criticalResult, sccOffset[g], longest, longestParent);
+        }
+        int endVertex = -1;
+        int maxDist = Integer.MIN_VALUE;
+        for (int i = 0; i < total; i++) {
+            if (longest[i] > maxDist) {
+                maxDist = longest[i];
+                endVertex = i;
+            }
+        }
+        result.criticalResult = new DAGShortestPath.PathResult(longest, longestParent, endVertex);
+        return result;
+    }
+
+    private static void copyShifted(DAGShortestPath.PathResult part, int offset, int[] distances, int[] parent) {
+        System.arraycopy(part.distances, 0, distances, offset, part.distances.length);
+        for (int i = 0; i < part.parent.length; i++) {
+            parent[offset + i] = part.parent[i] == -1 ? -1 : offset + part.parent[i];
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+/**
+ * Engine choices for one pipeline run, normally made by {@link Planner}.
+ */
+public class PipelineOptions {
+
+    public enum Layout {
+        /** Keep the representation produced by the loader. */
+        AS_LOADED,
+        /** Copy into a {@code CsrGraph} unless the loader already produced one. */
+        CSR
+    }
+
+    public enum SccEngine {
+        TARJAN,
+        PEARCE,
+        KOSARAJU,
+        /** Graph is known to be a DAG: every vertex is its own component. */
+        NONE
+    }
+
+    public enum TopoVariant {
+        KAHN,
+        DFS
+    }
+
+    public enum PathDp {
+        SEQUENTIAL,
+        PARALLEL
+    }
+
+    /** Vertex renumbering before the pipeline; results are mapped back to input ids. */
+    public enum Relabel {
+        NONE,
+        TOPOLOGICAL,
+        BFS,
+        RCM,
+        DEGREE
+    }
+
+    /** The configuration used before the planner existed. */
+    public static final PipelineOptions REFERENCE =
+            new PipelineOptions(Layout.AS_LOADED, SccEngine.TARJAN, TopoVariant.KAHN, PathDp.SEQUENTIAL);
+
+    public final Layout layout;
+    public final SccEngine sccEngine;
+    public final TopoVariant topoVariant;
+    public final PathDp pathDp;
+    public final Relabel relabel;
+
+    public PipelineOptions(Layout layout, SccEngine sccEngine, TopoVariant topoVariant, PathDp pathDp) {
+        this(layout, sccEngine, topoVariant, pathDp, Relabel.NONE);
+    }
+
+    /**
+     * @param relabel anything but NONE implies the CSR layout
+     */
+    public PipelineOptions(Layout layout, SccEngine sccEngine, TopoVariant topoVariant, PathDp pathDp, Relabel relabel) {
+        this.layout = layout;
+        this.sccEngine = sccEngine;
+        this.topoVariant = topoVariant;
+        this.pathDp = pathDp;
+        this.relabel = relabel;
+    }
+
+    /** A copy with a different relabeling. */
+    public PipelineOptions withRelabel(Relabel relabel) {
+        return new PipelineOptions(layout, sccEngine, topoVariant, pathDp, relabel);
+    }
+
+    @Override
+    public String toString() {
+        return "layout=" + name(layout) + ", scc=" + name(sccEngine)
+                + ", topo=" + name(topoVariant) + ", dp=" + name(pathDp)
+                + (relabel == Relabel.NONE ? "" : ", relabel=" + name(relabel));
+    }
+
+    private static String name(Enum<?> value) {
+        return value.name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,130 @@
+package org.example;
+
+import org.example.PipelineOptions.Layout;
+import org.example.PipelineOptions.PathDp;
+import org.example.PipelineOptions.Relabel;
+import org.example.PipelineOptions.SccEngine;
+import org.example.PipelineOptions.TopoVariant;
+
+/**
+ * Picks the pipeline engines from {@link GraphStats}.
+ * <ul>
+ *   <li>Tiny graphs (n + m below {@link #SMALL_GRAPH}) keep the reference
+ *       configuration, so reports of the sample datasets are unchanged.</li>
+ *   <li>On several cores, larger graphs made of several weakly connected
+ *       components, none holding more than half of the vertices, are split
+ *       and the parts run through the pipeline in parallel
+ *       ({@link PartitionedPipeline}). On one core the relabeling and
+ *       stitching only add work.</li>
+ *   <li>Larger graphs use the CSR layout: about 8 bytes per edge instead of
+ *       ~35 and sequential edge scans. The layout depends only on the size, so
+ *       it is chosen first and the statistics pass already runs on it.</li>
+ *   <li>A graph that is already a DAG skips SCC detection and reuses the
+ *       stats pass's topological order; otherwise PearceSCC is used, the
+ *       iterative engine with the smallest working set.</li>
+ *   <li>A DAG of at least {@link #RELABEL_MIN_VERTICES} vertices whose ids
+ *       are far from topological (many edges point to smaller ids) is
+ *       relabeled in the stats pass's topological order, so every later
+ *       sweep walks its per-vertex arrays front to back. Cyclic graphs keep
+ *       their ids: stats cannot tell hidden locality from none, and BFS or
+ *       RCM relabeling loses time on graphs without it.</li>
+ *   <li>Kahn's topological sort is always chosen: the DFS variant is
+ *       recursive and never faster.</li>
+ *   <li>The path DP runs in parallel only on a DAG whose average level is
+ *       wide enough to amortize task overhead, and only with several cores.</li>
+ * </ul>
+ */
+public class Planner {
+
+    static final long SMALL_GRAPH = 1_000;
+    static final int PARALLEL_MIN_WIDTH = 16_384;
+    static final double PARTITION_MAX_SHARE = 0.5;
+    static final int RELABEL_MIN_VERTICES = 1 << 18;
+    static final double RELABEL_MIN_BACKWARD_SHARE = 0.25;
+
+    private Planner() {
+    }
+
+    /**
+     * Layout for a graph of the given size, decided before any statistics are gathered.
+     */
+    public static Layout chooseLayout(int vertexCount, long edgeCount) {
+        return vertexCount + edgeCount < SMALL_GRAPH ? Layout.AS_LOADED : Layout.CSR;
+    }
+
+    /**
+     * Whether to run the weak components separately.
+     * @param componentSizes vertices per weakly connected component
+     */
+    public static boolean partition(int[] componentSizes, int vertexCount, int cores) {
+        if (cores < 2 || componentSizes.length < 2) {
+            return false;
+        }
+        int largest = 0;
+        for (int size : componentSizes) {
+            largest = Math.max(largest, size);
+        }
+        return largest <= PARTITION_MAX_SHARE * vertexCount;
+    }
+
+    public static PipelineOptions plan(GraphStats stats) {
+        return plan(stats, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static PipelineOptions plan(GraphStats stats, int cores) {
+        if (chooseLayout(stats.vertexCount, stats.edgeCount) == Layout.AS_LOADED) {
+            return PipelineOptions.REFERENCE;
+        }
+
+        SccEngine scc = stats.dag ? SccEngine.NONE : SccEngine.PEARCE;
+        boolean wide = stats.dag && stats.depth > 0 && stats.vertexCount / stats.depth >= PARALLEL_MIN_WIDTH;
+        PathDp dp = wide && cores > 1 ? PathDp.PARALLEL : PathDp.SEQUENTIAL;
+        boolean scattered = stats.dag && stats.vertexCount >= RELABEL_MIN_VERTICES
+                && stats.backwardEdgeShare >= RELABEL_MIN_BACKWARD_SHARE;
+        Relabel relabel = scattered ? Relabel.TOPOLOGICAL : Relabel.NONE;
+        return new PipelineOptions(Layout.CSR, scc, TopoVariant.KAHN, dp, relabel);
+    }
+
+    /**
+     * Rough upper estimate of the heap a run needs, from per-vertex and
+     * per-edge costs measured with the memory benchmarks.
+     * @param loadedAsCsr whether the loader already produced a CSR graph
+     */
+    public static long predictMemoryBytes(GraphStats stats, PipelineOptions options, boolean loadedAsCsr) {
+        long n = stats.vertexCount;
+        long m = stats.edgeCount;
+        long csrBytes = 8 * m + 4 * n;
+
+        long bytes = loadedAsCsr ? csrBytes : 35 * m + 40 * n;
+        if (options.layout == Layout.CSR && !loadedAsCsr) {
+            bytes += csrBytes;
+        }
+
+        if (options.relabel != Relabel.NONE) {
+            bytes += csrBytes + 8 * n;
+        }
+
+        switch (options.sccEngine) {
+            case TARJAN: bytes += 86 * n; break;
+            case PEARCE: bytes += 12 * n; break;
+            case KOSARAJU: bytes += csrBytes + 16 * n; break;
+            case NONE: bytes += 4 * n; break;
+        }
+
+        // Component lists, condensation, task order and two path results
+        bytes += 40 * n + csrBytes + 24 * n + 16 * n;
+        if (options.pathDp == PathDp.PARALLEL) {
+            bytes += csrBytes + 12 * n;
+        }
+        return bytes;
+    }
+
+    /**
+     * One-line summary of a decision for the report.
+     */
+    public static String describe(GraphStats stats, PipelineOptions options, boolean loadedAsCsr) {
+        long bytes = predictMemoryBytes(stats, options, loadedAsCsr);
+        String memory = bytes < 1_000_000 ? (bytes + 999) / 1000 + " KB" : String.format("%.1f MB", bytes / 1e6);
+        return options + " (" + stats + "), predicted memory " + memory;
+    }
+}
@@ -0,0 +1,322 @@
+package org.example;
+
+import org.example.graph.dagscp.DAGShortestPath;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Persistent, content-addressed cache of pipeline results.
+ * Entries are keyed by the SHA-256 of the input file bytes plus the pipeline
+ * options, stored as compact big-endian int arrays, and memory-mapped on a
+ * hit. A hit decodes only the header and the condensation-sized path arrays;
+ * the SCC members, SCC order and task order are served as read-only list
+ * views over the mapping, so nothing proportional to the vertex count is
+ * copied or boxed until it is read. The directory is kept under a size budget
+ * by evicting the least recently used entries (a hit refreshes the entry's
+ * modification time). Entries are replaced by atomic moves and deleted rather
+ * than rewritten, so a mapping handed out stays valid after eviction.
+ */
+public class ResultCache {
+
+    private static final int MAGIC = 0x53435043;
+    private static final int VERSION = 2;
+    private static final String SUFFIX = ".bin";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    public ResultCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Cache key for the given input file contents and pipeline options.
+     */
+    public static String key(byte[] content, String options) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            return hex(digest, options);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String hex(MessageDigest digest, String options) {
+        digest.update((byte) 0);
+        digest.update(("v" + VERSION + ":" + options).getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Cache key for the given input file and pipeline options; the file is
+     * streamed, so large inputs are not held in memory.
+     */
+    public static String key(Path file, String options) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[1 << 16];
+            try (InputStream in = Files.newInputStream(file)) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return hex(digest, options);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return the cached result, or null on a miss or an unreadable entry
+     */
+    Main.PipelineResult get(String key) {
+        Path file = directory.resolve(key + SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Main.PipelineResult result = decode(buffer);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return result;
+        } catch (IOException | RuntimeException e) {
+            // Truncated or stale entry: drop it and recompute
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Another process may hold it; it will be evicted later
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores a result and evicts old entries if the directory exceeds its budget.
+     */
+    void put(String key, Main.PipelineResult result) throws IOException {
+        Path file = directory.resolve(key + SUFFIX);
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            encode(result, out);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        evict();
+    }
+
+    private void evict() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).forEach(entries::add);
+        }
+
+        Map<Path, long[]> stats = new HashMap<>();
+        long total = 0;
+        for (Path entry : entries) {
+            try {
+                long size = Files.size(entry);
+                stats.put(entry, new long[]{size, Files.getLastModifiedTime(entry).toMillis()});
+                total += size;
+            } catch (NoSuchFileException e) {
+                // Evicted concurrently
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+
+        entries.removeIf(p -> !stats.containsKey(p));
+        entries.sort(Comparator.comparingLong(p -> stats.get(p)[1]));
+        for (Path entry : entries) {
+            if (total <= maxBytes) break;
+            Files.deleteIfExists(entry);
+            total -= stats.get(entry)[0];
+        }
+    }
+
+    private static void encode(Main.PipelineResult result, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(result.vertexCount);
+        writeString(out, result.weightModel);
+        writeString(out, result.plan);
+
+        // SCCs as offsets + members, preserving member order
+        out.writeInt(result.sccs.size());
+        int offset = 0;
+        out.writeInt(offset);
+        for (List<Integer> scc : result.sccs) {
+            offset += scc.size();
+            out.writeInt(offset);
+        }
+        for (List<Integer> scc : result.sccs) {
+            writeInts(out, scc);
+        }
+        out.writeInt(result.condensationVertexCount);
+
+        out.writeInt(result.sccOrder == null ? 0 : 1);
+        if (result.sccOrder == null) {
+            return;
+        }
+        writeInts(out, result.sccOrder);
+        writeInts(out, result.taskOrder);
+        out.writeInt(result.violatedEdges);
+        out.writeLong(result.violatedWeight);
+        out.writeInt(result.sourceScc);
+        writePathResult(out, result.shortestResult);
+        writePathResult(out, result.criticalResult);
+    }
+
+    private static Main.PipelineResult decode(ByteBuffer in) {
+        if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IllegalStateException("Not a cache entry of this version");
+        }
+
+        Main.PipelineResult result = new Main.PipelineResult();
+        result.fromCache = true;
+        result.vertexCount = in.getInt();
+        result.weightModel = readString(in);
+        result.plan = readString(in);
+
+        int sccCount = in.getInt();
+        IntBuffer offsets = sliceInts(in, sccCount + 1);
+        int previous = 0;
+        for (int i = 0; i <= sccCount; i++) {
+            int offset = offsets.get(i);
+            if (offset < previous) {
+                throw new IllegalStateException("Corrupt SCC offsets");
+            }
+            previous = offset;
+        }
+        result.sccs = new ComponentsView(offsets, sliceInts(in, previous));
+        result.condensationVertexCount = in.getInt();
+
+        if (in.getInt() == 0) {
+            return result;
+        }
+        result.sccOrder = new IntsView(sliceInts(in, sccCount));
+        result.taskOrder = new IntsView(sliceInts(in, result.vertexCount));
+        result.violatedEdges = in.getInt();
+        result.violatedWeight = in.getLong();
+        result.sourceScc = in.getInt();
+        result.shortestResult = readPathResult(in, result.condensationVertexCount);
+        result.criticalResult = readPathResult(in, result.condensationVertexCount);
+        return result;
+    }
+
+    private static void writePathResult(DataOutputStream out, DAGShortestPath.PathResult path) throws IOException {
+        for (int d : path.distances) out.writeInt(d);
+        for (int p : path.parent) out.writeInt(p);
+        out.writeInt(path.source);
+    }
+
+    private static DAGShortestPath.PathResult readPathResult(ByteBuffer in, int n) {
+        int[] distances = readInts(in, n);
+        int[] parent = readInts(in, n);
+        return new DAGShortestPath.PathResult(distances, parent, in.getInt());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInts(DataOutputStream out, List<Integer> values) throws IOException {
+        for (int v : values) out.writeInt(v);
+    }
+
+    private static int[] readInts(ByteBuffer in, int count) {
+        int[] values = new int[count];
+        IntBuffer ints = in.asIntBuffer();
+        ints.get(values);
+        in.position(in.position() + 4 * count);
+        return values;
+    }
+
+    /**
+     * The next count ints of the buffer as an int view, advancing past them.
+     * @throws java.nio.BufferUnderflowException if the entry is truncated
+     */
+    private static IntBuffer sliceInts(ByteBuffer in, int count) {
+        if (count < 0 || count > in.remaining() / 4) {
+            throw new java.nio.BufferUnderflowException();
+        }
+        IntBuffer ints = in.asIntBuffer();
+        ints.limit(count);
+        in.position(in.position() + 4 * count);
+        return ints;
+    }
+
+    /** Read-only list over an int view of the mapping. */
+    private static final class IntsView extends AbstractList<Integer> implements RandomAccess {
+        private final IntBuffer values;
+
+        IntsView(IntBuffer values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return values.get(index);
+        }
+
+        @Override
+        public int size() {
+            return values.limit();
+        }
+    }
+
+    /** Read-only list of SCCs, each a view of its slice of the members. */
+    private static final class ComponentsView extends AbstractList<List<Integer>> implements RandomAccess {
+        private final IntBuffer offsets;
+        private final IntBuffer members;
+
+        ComponentsView(IntBuffer offsets, IntBuffer members) {
+            this.offsets = offsets;
+            this.members = members;
+        }
+
+        @Override
+        public List<Integer> get(int index) {
+            int from = offsets.get(index);
+            int to = offsets.get(index + 1);
+            IntBuffer slice = members.duplicate();
+            slice.position(from).limit(to);
+            return new IntsView(slice.slice());
+        }
+
+        @Override
+        public int size() {
+            return offsets.limit() - 1;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.example.bench;
+
+import org.example.Graph;
+import org.example.graph.CsrGraph;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Synthetic graph families shared by the benchmarks.
+ */
+public final class BenchmarkGraphs {
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Random DAG where every edge points from u to a vertex in (u, u + window].
+     * Small windows give long, narrow DAGs; large windows give wide ones.
+     */
+    public static Graph randomDag(int n, int avgDegree, int window, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(n, true);
+        for (int u = 0; u < n - 1; u++) {
+            int reach = Math.min(window, n - 1 - u);
+            for (int k = 0; k < avgDegree; k++) {
+                graph.addEdge(u, u + 1 + random.nextInt(reach), random.nextInt(10) + 1);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Uniform random directed graph; with avgDegree above 1 most vertices end
+     * up in one giant strongly connected component.
+     */
+    public static Graph randomGraph(int n, int avgDegree, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(n, true);
+        for (int u = 0; u < n; u++) {
+            for (int k = 0; k < avgDegree; k++) {
+                graph.addEdge(u, random.nextInt(n), random.nextInt(10) + 1);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * {@link #randomGraph} built straight into CSR arrays, for sizes where
+     * per-edge objects would not fit in the heap. Exactly avgDegree edges per vertex.
+     */
+    public static CsrGraph randomCsr(int n, int avgDegree, long seed) {
+        Random random = new Random(seed);
+        int m = Math.multiplyExact(n, avgDegree);
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + avgDegree;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                targets[e] = random.nextInt(n);
+                weights[e] = random.nextInt(10) + 1;
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * {@link #randomDag} built straight into CSR arrays; the identity order is
+     * topological. The last vertex has no out-edges.
+     */
+    public static CsrGraph randomDagCsr(int n, int avgDegree, int window, long seed) {
+        Random random = new Random(seed);
+        int m = Math.multiplyExact(n - 1, avgDegree);
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = u < n - 1 ? offsets[u] + avgDegree : offsets[u];
+            int reach = Math.min(window, n - 1 - u);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                targets[e] = u + 1 + random.nextInt(reach);
+                weights[e] = random.nextInt(10) + 1;
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Many unrelated projects in one file: {@code count} disjoint
+     * {@link #randomGraph}s of {@code size} vertices each on consecutive ids.
+     */
+    public static CsrGraph disjointGraphs(int count, int size, int avgDegree, long seed) {
+        Random random = new Random(seed);
+        int n = Math.multiplyExact(count, size);
+        int m = Math.multiplyExact(n, avgDegree);
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + avgDegree;
+            int base = u - u % size;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                targets[e] = base + random.nextInt(size);
+                weights[e] = random.nextInt(10) + 1;
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Cyclic graph with locality: edges of u go to u + d (mod n) for d uniform
+     * in [-window, window], so it has one large SCC but short edges.
+     */
+    public static CsrGraph localGraph(int n, int avgDegree, int window, long seed) {
+        Random random = new Random(seed);
+        int m = Math.multiplyExact(n, avgDegree);
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + avgDegree;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                targets[e] = Math.floorMod(u + random.nextInt(2 * window + 1) - window, n);
+                weights[e] = random.nextInt(10) + 1;
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * The graph with vertex ids randomly permuted, hiding any locality of the generator.
+     */
+    public static CsrGraph shuffled(CsrGraph graph, long seed) {
+        int n = graph.getVertexCount();
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[order[i]] = i;
+        }
+        return graph.permute(order, rank, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Random directed graph with heavy-tailed in-degrees: targets are drawn
+     * as n * r^3 for uniform r, so low ids become hubs.
+     */
+    public static Graph skewedGraph(int n, int avgDegree, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(n, true);
+        for (int u = 0; u < n; u++) {
+            int degree = 1 + random.nextInt(2 * avgDegree - 1);
+            for (int k = 0; k < degree; k++) {
+                double r = random.nextDouble();
+                graph.addEdge(u, (int) (n * r * r * r), random.nextInt(10) + 1);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Layered DAG: vertex ids are assigned layer by layer and every edge goes
+     * from a layer to one of the next two, so all vertices of a layer are
+     * independent of each other.
+     */
+    public static Graph layeredDag(int layers, int width, int avgDegree, long seed) {
+        Random random = new Random(seed);
+        int n = layers * width;
+        Graph graph = new Graph(n, true);
+        for (int u = 0; u < n - width; u++) {
+            int nextLayer = (u / width + 1) * width;
+            int span = Math.min(2 * width, n - nextLayer);
+            for (int k = 0; k < avgDegree; k++) {
+                graph.addEdge(u, nextLayer + random.nextInt(span), random.nextInt(10) + 1);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * The identity order, which is topological for {@link #randomDag} and {@link #layeredDag}.
+     */
+    public static List<Integer> identityOrder(int n) {
+        List<Integer> order = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            order.add(i);
+        }
+        return order;
+    }
+
+    /**
+     * Writes the graph in the JSON schema read by {@code Main}.
+     */
+    public static void writeJson(Graph graph, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("{\"directed\": true, \"n\": " + graph.getVertexCount() + ", \"source\": 0, "
+                    + "\"weight_model\": \"edge\", \"edges\": [");
+            boolean first = true;
+            for (int u = 0; u < graph.getVertexCount(); u++) {
+                for (Graph.Edge edge : graph.getNeighbors(u)) {
+                    out.write((first ? "" : ",") + "{\"u\": " + u + ", \"v\": " + edge.to + ", \"w\": " + edge.weight + "}");
+                    first = false;
+                }
+            }
+            out.write("]}");
+        }
+    }
+
+    /**
+     * Writes the graph as a plain {@code u v w} edge list.
+     */
+    public static void writeEdgeList(Graph graph, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int u = 0; u < graph.getVertexCount(); u++) {
+                for (Graph.Edge edge : graph.getNeighbors(u)) {
+                    out.write(u + " " + edge.to + " " + edge.weight + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Heap in use after a few forced collections.
+     */
+    public static long usedHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 if the JVM cannot tell.
+     */
+    public static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.bench;
+
+import org.example.Graph;
+import org.example.Metrics;
+import org.example.graph.CompressedGraph;
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+import org.example.graph.dagscp.DAGShortestPath;
+import org.example.graph.scc.TarjanSCC;
+import org.example.graph.topo.TopologicalSort;
+
+import java.util.List;
+
+/**
+ * Compares CompressedGraph with Graph: space per edge, raw edge-scan
+ * throughput, and the SCC / topological sort / path DP running times.
+ * Usage: CompressedGraphBenchmark [n] [avgDegree] [window]
+ */
+public class CompressedGraphBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = BenchmarkGraphs.intArg(args, 0, 1_000_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 1, 8);
+        int window = BenchmarkGraphs.intArg(args, 2, 1000);
+
+        System.out.println("Building DAG: n=" + n + ", avgDegree=" + avgDegree + ", window=" + window);
+        long heapBefore = BenchmarkGraphs.usedHeapBytes();
+        Graph graph = BenchmarkGraphs.randomDag(n, avgDegree, window, 42);
+        long graphBytes = BenchmarkGraphs.usedHeapBytes() - heapBefore;
+
+        long start = System.nanoTime();
+        CompressedGraph compressed = CompressedGraph.compress(graph);
+        double compressMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        long m = graph.getEdgeCount();
+        System.out.printf("Graph:      %.1f MB on heap, %.1f bits/edge%n", graphBytes / 1e6, 8.0 * graphBytes / m);
+        System.out.printf("Compressed: %.1f MB (%.1f MB stream + %.1f MB index), %.1f bits/edge, built in %.0f ms%n",
+                (compressed.getEncodedBytes() + compressed.getIndexBytes()) / 1e6,
+                compressed.getEncodedBytes() / 1e6, compressed.getIndexBytes() / 1e6,
+                compressed.getBitsPerEdge(), compressMs);
+
+        for (int round = 0; round < 3; round++) {
+            System.out.println("--- round " + (round + 1) + " ---");
+            measure("Graph", graph);
+            measure("Compressed", compressed);
+        }
+    }
+
+    private static void measure(String name, GraphView graph) throws InterruptedException {
+        long start = System.nanoTime();
+        long checksum = 0;
+        EdgeCursor it = graph.cursor();
+        for (int u = 0; u < graph.getVertexCount(); u++) {
+            it.reset(u);
+            while (it.next()) {
+                checksum += it.target() + it.weight();
+            }
+        }
+        double scanMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        // Tarjan recurses once per vertex on a path, so give it a large stack
+        Metrics sccMetrics = new Metrics();
+        Thread sccThread = new Thread(null, () -> new TarjanSCC(graph, sccMetrics).findSCCs(), "scc", 2L << 30);
+        sccThread.start();
+        sccThread.join();
+
+        Metrics topoMetrics = new Metrics();
+        List<Integer> order = new TopologicalSort(graph, topoMetrics).sortKahn();
+        Metrics pathMetrics = new Metrics();
+        new DAGShortestPath(graph, pathMetrics).findCriticalPath(order);
+
+        System.out.printf("%-10s scan %.0f ms (%.0f M edges/s, checksum %d), tarjan %.0f ms, kahn %.0f ms, "
+                        + "critical path %.0f ms%n",
+                name, scanMs, graph.getEdgeCount() / scanMs / 1000, checksum,
+                sccMetrics.getElapsedTimeMillis(), topoMetrics.getElapsedTimeMillis(),
+                pathMetrics.getElapsedTimeMillis());
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.bench;
+
+import org.example.EdgeListLoader;
+import org.example.Graph;
+import org.example.Main;
+import org.example.graph.CsrGraph;
+import org.example.graph.GraphView;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares loading the same graph from JSON through Gson with the parallel
+ * edge-list loader, on one thread and on all cores. Throughput is file bytes
+ * per second.
+ * Usage: EdgeListLoaderBenchmark [n] [avgDegree]
+ */
+public class EdgeListLoaderBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int n = BenchmarkGraphs.intArg(args, 0, 300_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 1, 8);
+
+        Path dir = Files.createTempDirectory("edge-list-bench");
+        Path json = dir.resolve("graph.json");
+        Path edges = dir.resolve("graph.txt");
+        Graph graph = BenchmarkGraphs.randomDag(n, avgDegree, 1000, 42);
+        BenchmarkGraphs.writeJson(graph, json);
+        BenchmarkGraphs.writeEdgeList(graph, edges);
+        long m = graph.getEdgeCount();
+        graph = null;
+        System.out.printf("n=%d, m=%d: JSON %.1f MB, edge list %.1f MB%n",
+                n, m, Files.size(json) / 1e6, Files.size(edges) / 1e6);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool all = new ForkJoinPool(cores);
+        for (int round = 0; round < 3; round++) {
+            System.out.println("--- round " + (round + 1) + " ---");
+
+            long start = System.nanoTime();
+            GraphView fromJson = Main.loadGraph(json.toString());
+            report("Gson JSON", json, start, fromJson);
+
+            start = System.nanoTime();
+            CsrGraph csr = new EdgeListLoader(single).load(edges);
+            report("Edge list, 1 thread", edges, start, csr);
+
+            start = System.nanoTime();
+            csr = new EdgeListLoader(all).load(edges);
+            report("Edge list, " + cores + " threads", edges, start, csr);
+        }
+        single.shutdown();
+        all.shutdown();
+    }
+
+    private static void report(String name, Path file, long start, GraphView graph) throws IOException {
+        double ms = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("%-22s %8.0f ms  %7.1f MB/s  (%d edges)%n",
+                name, ms, Files.size(file) / 1e3 / ms, graph.getEdgeCount());
+    }
+}
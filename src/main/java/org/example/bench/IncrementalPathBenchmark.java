@@ -0,0 +1,85 @@
+package org.example.bench;
+
+import org.example.Graph;
+import org.example.Metrics;
+import org.example.graph.dagscp.DAGShortestPath;
+import org.example.graph.dagscp.IncrementalDAGPaths;
+import org.example.graph.dagscp.PathMode;
+import org.example.graph.dagscp.PredecessorIndex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares incremental path repair against full recomputation for a stream
+ * of random single-edge weight updates.
+ * Usage: IncrementalPathBenchmark [n] [avgDegree] [window] [updates]
+ */
+public class IncrementalPathBenchmark {
+
+    public static void main(String[] args) {
+        int n = BenchmarkGraphs.intArg(args, 0, 1_000_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 1, 4);
+        int window = BenchmarkGraphs.intArg(args, 2, 64);
+        int updates = BenchmarkGraphs.intArg(args, 3, 1000);
+        int fullEvery = Math.max(1, updates / 20);
+
+        System.out.println("Building DAG: n=" + n + ", avgDegree=" + avgDegree + ", window=" + window);
+        Graph graph = BenchmarkGraphs.randomDag(n, avgDegree, window, 42);
+        List<Integer> topoOrder = BenchmarkGraphs.identityOrder(n);
+        PredecessorIndex index = new PredecessorIndex(graph, topoOrder);
+
+        DAGShortestPath full = new DAGShortestPath(graph, new Metrics());
+        IncrementalDAGPaths shortest = new IncrementalDAGPaths(graph, index,
+                full.shortestPaths(topoOrder, 0), PathMode.SHORTEST, new Metrics());
+        IncrementalDAGPaths critical = new IncrementalDAGPaths(graph, index,
+                full.findCriticalPath(topoOrder), PathMode.CRITICAL, new Metrics());
+
+        Random random = new Random(7);
+        long incrementalNanos = 0;
+        long fullNanos = 0;
+        long changedVertices = 0;
+        int fullRuns = 0;
+        int mismatches = 0;
+
+        for (int i = 0; i < updates; i++) {
+            int u;
+            do {
+                u = random.nextInt(n);
+            } while (graph.getNeighbors(u).isEmpty());
+            List<Graph.Edge> edges = graph.getNeighbors(u);
+            int v = edges.get(random.nextInt(edges.size())).to;
+            int w = random.nextInt(10) + 1;
+
+            long start = System.nanoTime();
+            changedVertices += shortest.updateEdgeWeight(u, v, w);
+            changedVertices += critical.updateEdgeWeight(u, v, w);
+            incrementalNanos += System.nanoTime() - start;
+
+            // Full recomputation is orders of magnitude slower; sample it evenly
+            if (i % fullEvery == 0) {
+                start = System.nanoTime();
+                DAGShortestPath.PathResult sp = full.shortestPaths(topoOrder, 0);
+                DAGShortestPath.PathResult cp = full.findCriticalPath(topoOrder);
+                fullNanos += System.nanoTime() - start;
+                fullRuns++;
+
+                if (!Arrays.equals(sp.distances, shortest.current().distances)
+                        || !Arrays.equals(cp.distances, critical.current().distances)
+                        || cp.source != critical.current().source) {
+                    mismatches++;
+                }
+            }
+        }
+
+        double incrementalMs = incrementalNanos / 1_000_000.0 / updates;
+        double fullMs = fullNanos / 1_000_000.0 / fullRuns;
+
+        System.out.printf("Updates: %d (shortest + critical path each)%n", updates);
+        System.out.printf("Incremental: %.4f ms/update, %.1f vertices changed/update%n",
+                incrementalMs, (double) changedVertices / updates);
+        System.out.printf("Full recompute: %.3f ms/update (%d samples)%n", fullMs, fullRuns);
+        System.out.printf("Speedup: %.1fx, mismatches: %d%n", fullMs / incrementalMs, mismatches);
+    }
+}
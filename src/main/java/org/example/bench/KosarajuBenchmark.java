@@ -0,0 +1,77 @@
+package org.example.bench;
+
+import org.example.Graph;
+import org.example.Metrics;
+import org.example.graph.CsrGraph;
+import org.example.graph.scc.KosarajuSCC;
+import org.example.graph.scc.PearceSCC;
+import org.example.graph.scc.TarjanSCC;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares Graph.getTranspose with the parallel CSR transpose, and TarjanSCC
+ * on Graph with PearceSCC and KosarajuSCC on a CsrGraph, for a large sparse
+ * random graph. Cache behavior shows up as time per edge: the object-based
+ * Graph chases a pointer per edge while the CSR engines stream int arrays.
+ * For hardware counters run the benchmark under {@code perf stat -e cache-misses}.
+ * Usage: KosarajuBenchmark [n] [avgDegree]
+ */
+public class KosarajuBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = BenchmarkGraphs.intArg(args, 0, 1_000_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 1, 2);
+
+        System.out.println("Building random graph: n=" + n + ", avgDegree=" + avgDegree);
+        Graph graph = BenchmarkGraphs.randomGraph(n, avgDegree, 42);
+        CsrGraph csr = CsrGraph.from(graph);
+        long m = graph.getEdgeCount();
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool all = new ForkJoinPool(cores);
+
+        for (int round = 0; round < 3; round++) {
+            System.out.println("--- round " + (round + 1) + " ---");
+
+            long start = System.nanoTime();
+            Graph transpose = graph.getTranspose();
+            report("Graph.getTranspose", start, m, transpose.getEdgeCount());
+
+            start = System.nanoTime();
+            CsrGraph reverse = csr.transpose(single);
+            report("CSR transpose, 1 thread", start, m, reverse.getEdgeCount());
+
+            start = System.nanoTime();
+            reverse = csr.transpose(all);
+            report("CSR transpose, " + cores + " threads", start, m, reverse.getEdgeCount());
+
+            int[] components = new int[1];
+            Thread tarjanThread = new Thread(null, () -> {
+                long tarjanStart = System.nanoTime();
+                components[0] = new TarjanSCC(graph, new Metrics()).findSCCs().size();
+                report("TarjanSCC (Graph)", tarjanStart, m, components[0]);
+            }, "tarjan", 2L << 30);
+            tarjanThread.start();
+            tarjanThread.join();
+
+            start = System.nanoTime();
+            PearceSCC pearce = new PearceSCC(csr, new Metrics());
+            pearce.findComponents();
+            report("PearceSCC (CSR)", start, m, pearce.getComponentCount());
+
+            start = System.nanoTime();
+            KosarajuSCC kosaraju = new KosarajuSCC(csr, all, new Metrics());
+            kosaraju.findComponents();
+            report("KosarajuSCC (CSR)", start, m, kosaraju.getComponentCount());
+        }
+        single.shutdown();
+        all.shutdown();
+    }
+
+    private static void report(String name, long start, long edges, long result) {
+        double ms = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("%-26s %7.0f ms  %5.1f ns/edge  (%d)%n", name, ms, ms * 1e6 / edges, result);
+    }
+}
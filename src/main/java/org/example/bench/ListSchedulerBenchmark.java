@@ -0,0 +1,50 @@
+package org.example.bench;
+
+import org.example.Metrics;
+import org.example.graph.CsrGraph;
+import org.example.graph.dagscp.DAGShortestPath;
+import org.example.graph.sched.ListScheduler;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Schedules a large random DAG on a fixed worker pool and reports the time
+ * spent, the makespan against its two lower bounds (longest chain and total
+ * work divided by the workers) and the worker utilization.
+ * Task durations are uniform in 1..100.
+ * Usage: ListSchedulerBenchmark [n] [workers] [avgDegree]  (defaults 10000000, 1000, 3)
+ */
+public class ListSchedulerBenchmark {
+
+    public static void main(String[] args) {
+        int n = BenchmarkGraphs.intArg(args, 0, 10_000_000);
+        int workers = BenchmarkGraphs.intArg(args, 1, 1000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 2, 3);
+
+        System.out.println("Building DAG: n=" + n + ", avgDegree=" + avgDegree + ", workers=" + workers);
+        CsrGraph dag = BenchmarkGraphs.randomDagCsr(n, avgDegree, 100_000, 42);
+        List<Integer> order = BenchmarkGraphs.identityOrder(n);
+        Random random = new Random(1);
+        int[] durations = new int[n];
+        long work = 0;
+        for (int v = 0; v < n; v++) {
+            durations[v] = 1 + random.nextInt(100);
+            work += durations[v];
+        }
+
+        long chain = 0;
+        for (long level : new DAGShortestPath(dag, new Metrics()).bottomLevels(order, durations)) {
+            chain = Math.max(chain, level);
+        }
+
+        ListScheduler scheduler = new ListScheduler(dag, new Metrics());
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            ListScheduler.Schedule schedule = scheduler.schedule(order, durations, workers);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("run %d: %.2f s, makespan %d (longest chain %d, work / workers %d), utilization %.1f%%%n",
+                    run, seconds, schedule.makespan, chain, (work + workers - 1) / workers, 100 * schedule.utilization());
+        }
+    }
+}
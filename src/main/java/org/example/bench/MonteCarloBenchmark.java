@@ -0,0 +1,61 @@
+package org.example.bench;
+
+import org.example.Graph;
+import org.example.graph.dagscp.MonteCarloCriticalPath;
+import org.example.graph.dagscp.PredecessorIndex;
+import org.example.graph.dagscp.TaskDurations;
+
+import java.util.Random;
+
+/**
+ * Runs Monte Carlo PERT on a random DAG with both distributions and reports
+ * throughput, completion-time percentiles and the most critical tasks. Task
+ * estimates are min = 0.7 mode, max = 1.8 mode with modes in 1..10.
+ * Usage: MonteCarloBenchmark [n] [samples] [avgDegree]
+ */
+public class MonteCarloBenchmark {
+
+    public static void main(String[] args) {
+        int n = BenchmarkGraphs.intArg(args, 0, 100_000);
+        int samples = BenchmarkGraphs.intArg(args, 1, 10_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 2, 3);
+
+        System.out.println("Building DAG: n=" + n + ", avgDegree=" + avgDegree);
+        Graph dag = BenchmarkGraphs.randomDag(n, avgDegree, 1000, 42);
+        PredecessorIndex index = new PredecessorIndex(dag, BenchmarkGraphs.identityOrder(n));
+
+        Random random = new Random(1);
+        double[] min = new double[n];
+        double[] mode = new double[n];
+        double[] max = new double[n];
+        for (int v = 0; v < n; v++) {
+            mode[v] = 1 + random.nextInt(10);
+            min[v] = 0.7 * mode[v];
+            max[v] = 1.8 * mode[v];
+        }
+
+        for (TaskDurations.Distribution distribution : TaskDurations.Distribution.values()) {
+            TaskDurations durations = new TaskDurations(min, mode, max, distribution);
+            MonteCarloCriticalPath simulation = new MonteCarloCriticalPath(index, durations);
+
+            // Warm-up on a few blocks
+            simulation.run(256, 0);
+
+            long start = System.nanoTime();
+            MonteCarloCriticalPath.Result result = simulation.run(samples, 42);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%s: %d samples in %.1f s (%.0f samples/s, %.1f ns per task sample)%n",
+                    distribution, samples, seconds, samples / seconds, seconds * 1e9 / ((double) samples * n));
+            System.out.printf("  completion time: mean %.1f, P50 %.1f, P80 %.1f, P95 %.1f, P99 %.1f%n",
+                    result.mean(), result.percentile(50), result.percentile(80),
+                    result.percentile(95), result.percentile(99));
+
+            int critical = 0;
+            for (double c : result.criticality) {
+                if (c >= 0.5) critical++;
+            }
+            System.out.printf("  tasks critical in >= 50%% of samples: %d%n", critical);
+        }
+    }
+}
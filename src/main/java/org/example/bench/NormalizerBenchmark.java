@@ -0,0 +1,65 @@
+package org.example.bench;
+
+import org.example.graph.EdgeNormalizer;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Throughput of {@link EdgeNormalizer} on a random edge list with a share of
+ * duplicated edges and a few self-loops. Every duplicate policy is timed,
+ * KEEP being the cost of validation and the CSR build alone, next to
+ * {@link Arrays#parallelSort} of the packed (u, v) keys as a reference for
+ * the sort. Each variant runs twice and the second run is reported.
+ * Usage: NormalizerBenchmark [n] [m] [duplicatePercent]  (defaults 5000000, 50000000, 10)
+ */
+public class NormalizerBenchmark {
+
+    public static void main(String[] args) {
+        int n = BenchmarkGraphs.intArg(args, 0, 5_000_000);
+        int m = BenchmarkGraphs.intArg(args, 1, 50_000_000);
+        int duplicatePercent = BenchmarkGraphs.intArg(args, 2, 10);
+
+        System.out.println("Generating edges: n=" + n + ", m=" + m + ", duplicates=" + duplicatePercent + "%");
+        Random random = new Random(42);
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            if (e > 0 && random.nextInt(100) < duplicatePercent) {
+                int copy = random.nextInt(e);
+                sources[e] = sources[copy];
+                targets[e] = targets[copy];
+            } else {
+                sources[e] = random.nextInt(n);
+                targets[e] = random.nextInt(n);
+            }
+            weights[e] = random.nextInt(100) + 1;
+        }
+
+        System.out.printf("%-14s %10s %12s %s%n", "variant", "ms", "M edges/s", "result");
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1));
+        for (int run = 0; run < 2; run++) {
+            long start = System.nanoTime();
+            long[] keys = new long[m];
+            for (int e = 0; e < m; e++) {
+                keys[e] = (long) sources[e] << bits | targets[e];
+            }
+            Arrays.parallelSort(keys);
+            if (run == 1) print("parallelSort", m, System.nanoTime() - start, "");
+        }
+        for (EdgeNormalizer.DuplicatePolicy policy : EdgeNormalizer.DuplicatePolicy.values()) {
+            EdgeNormalizer normalizer = new EdgeNormalizer(policy, false, ForkJoinPool.commonPool());
+            for (int run = 0; run < 2; run++) {
+                long start = System.nanoTime();
+                EdgeNormalizer.Result result = normalizer.normalize(n, sources, targets, weights, m);
+                if (run == 1) print(policy.name(), m, System.nanoTime() - start, result.toString());
+            }
+        }
+    }
+
+    private static void print(String name, int m, long nanos, String result) {
+        System.out.printf("%-14s %10.0f %12.1f %s%n", name, nanos / 1e6, m / (nanos / 1e3), result);
+    }
+}
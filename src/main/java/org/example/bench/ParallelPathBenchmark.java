@@ -0,0 +1,64 @@
+package org.example.bench;
+
+import org.example.Graph;
+import org.example.Metrics;
+import org.example.graph.dagscp.DAGShortestPath;
+import org.example.graph.dagscp.ParallelDAGShortestPath;
+import org.example.graph.dagscp.PredecessorIndex;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares sequential and wavefront-parallel path DP on a layered DAG.
+ * Usage: ParallelPathBenchmark [layers] [width] [avgDegree] [rounds]
+ */
+public class ParallelPathBenchmark {
+
+    public static void main(String[] args) {
+        int layers = BenchmarkGraphs.intArg(args, 0, 100);
+        int width = BenchmarkGraphs.intArg(args, 1, 20_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 2, 4);
+        int rounds = BenchmarkGraphs.intArg(args, 3, 5);
+
+        System.out.println("Building layered DAG: layers=" + layers + ", width=" + width
+                + ", avgDegree=" + avgDegree);
+        Graph graph = BenchmarkGraphs.layeredDag(layers, width, avgDegree, 42);
+        List<Integer> topoOrder = BenchmarkGraphs.identityOrder(graph.getVertexCount());
+
+        long start = System.nanoTime();
+        PredecessorIndex index = new PredecessorIndex(graph, topoOrder);
+        ParallelDAGShortestPath parallel = new ParallelDAGShortestPath(index, new Metrics());
+        double setupMs = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("Index + levels: %.1f ms (%d levels, widest %d)%n",
+                setupMs, parallel.getLevelCount(), parallel.getMaxLevelWidth());
+
+        DAGShortestPath sequential = new DAGShortestPath(graph, new Metrics());
+        double bestSequential = Double.MAX_VALUE;
+        double bestParallel = Double.MAX_VALUE;
+        boolean identical = true;
+
+        for (int r = 0; r < rounds; r++) {
+            start = System.nanoTime();
+            DAGShortestPath.PathResult seqShortest = sequential.shortestPaths(topoOrder, 0);
+            DAGShortestPath.PathResult seqCritical = sequential.findCriticalPath(topoOrder);
+            bestSequential = Math.min(bestSequential, (System.nanoTime() - start) / 1_000_000.0);
+
+            start = System.nanoTime();
+            DAGShortestPath.PathResult parShortest = parallel.shortestPaths(0);
+            DAGShortestPath.PathResult parCritical = parallel.findCriticalPath();
+            bestParallel = Math.min(bestParallel, (System.nanoTime() - start) / 1_000_000.0);
+
+            identical &= Arrays.equals(seqShortest.distances, parShortest.distances)
+                    && Arrays.equals(seqShortest.parent, parShortest.parent)
+                    && Arrays.equals(seqCritical.distances, parCritical.distances)
+                    && Arrays.equals(seqCritical.parent, parCritical.parent)
+                    && seqCritical.source == parCritical.source;
+        }
+
+        System.out.printf("Threads: %d%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("Sequential (shortest + critical): %.1f ms%n", bestSequential);
+        System.out.printf("Parallel   (shortest + critical): %.1f ms%n", bestParallel);
+        System.out.printf("Speedup: %.2fx, identical results: %b%n", bestSequential / bestParallel, identical);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.bench;
+
+import org.example.Main;
+import org.example.PartitionedPipeline;
+import org.example.graph.CsrGraph;
+import org.example.graph.wcc.WeakComponents;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares the pipeline on a whole graph made of many disjoint projects with
+ * the weak-component partitioned pipeline on pools of 1 to all cores.
+ * Partitioned times include the union-find pre-pass. Fastest of three runs.
+ * Usage: PartitionBenchmark [components] [componentSize] [avgDegree]  (defaults 1000, 1000, 3)
+ */
+public class PartitionBenchmark {
+
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) {
+        int components = BenchmarkGraphs.intArg(args, 0, 1000);
+        int size = BenchmarkGraphs.intArg(args, 1, 1000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 2, 3);
+
+        System.out.println("Building " + components + " disjoint graphs of " + size + " vertices, avgDegree=" + avgDegree);
+        CsrGraph graph = BenchmarkGraphs.disjointGraphs(components, size, avgDegree, 42);
+
+        double whole = Double.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            Main.runPlannedWhole(graph, -1);
+            whole = Math.min(whole, (System.nanoTime() - start) / 1e6);
+        }
+        System.out.printf("whole graph:            %8.0f ms%n", whole);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            double best = Double.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                WeakComponents weak = new WeakComponents(graph, pool);
+                int[] componentOf = weak.findComponents();
+                new PartitionedPipeline(graph, componentOf, weak.getComponentCount(), pool).run(-1);
+                best = Math.min(best, (System.nanoTime() - start) / 1e6);
+            }
+            pool.shutdown();
+            System.out.printf("partitioned, %2d threads: %8.0f ms (%.2fx)%n", threads, best, whole / best);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.bench;
+
+import org.example.Graph;
+import org.example.GraphStats;
+import org.example.Main;
+import org.example.Planner;
+import org.example.PipelineOptions;
+import org.example.PipelineOptions.Layout;
+import org.example.PipelineOptions.PathDp;
+import org.example.PipelineOptions.SccEngine;
+import org.example.PipelineOptions.TopoVariant;
+import org.example.graph.CsrGraph;
+import org.example.graph.GraphView;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs every fixed engine combination and the planner on several graph
+ * families and reports how far the planner's pick is from the best fixed
+ * choice. Planner times include the statistics pass. Each configuration is
+ * run a few times and the fastest run counts. The DFS topological sort is left
+ * out of the matrix: it is recursive and never faster than Kahn's.
+ * Runs on a thread with a large stack because TarjanSCC is recursive.
+ * Usage: PlannerBenchmark [scale]  (vertices of the large families, default 300000)
+ */
+public class PlannerBenchmark {
+
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        int scale = BenchmarkGraphs.intArg(args, 0, 300_000);
+        Thread thread = new Thread(null, () -> run(scale), "planner-bench", 2L << 30);
+        thread.start();
+        thread.join();
+    }
+
+    private static void run(int scale) {
+        Map<String, Graph> families = new LinkedHashMap<>();
+        families.put("small random", BenchmarkGraphs.randomGraph(20_000, 2, 1));
+        families.put("sparse random", BenchmarkGraphs.randomGraph(scale, 2, 2));
+        families.put("skewed", BenchmarkGraphs.skewedGraph(scale, 3, 3));
+        families.put("local DAG", BenchmarkGraphs.randomDag(scale, 4, 1000, 4));
+        families.put("layered DAG", BenchmarkGraphs.layeredDag(20, scale / 20, 4, 5));
+
+        // Warm up every code path before measuring
+        Graph warmup = BenchmarkGraphs.randomDag(20_000, 3, 100, 0);
+        for (PipelineOptions options : matrix(true)) {
+            time(warmup, options);
+        }
+        time(warmup, null);
+
+        System.out.printf("%-14s %-58s %9s   %-58s %9s %7s%n",
+                "family", "best fixed", "ms", "planner", "ms", "ratio");
+        for (Map.Entry<String, Graph> family : families.entrySet()) {
+            Graph graph = family.getValue();
+            GraphStats stats = GraphStats.compute(graph);
+
+            String bestName = null;
+            double bestMs = Double.MAX_VALUE;
+            for (PipelineOptions options : matrix(stats.dag)) {
+                double ms = time(graph, options);
+                if (ms < bestMs) {
+                    bestMs = ms;
+                    bestName = options.toString();
+                }
+            }
+
+            PipelineOptions chosen = Planner.plan(GraphStats.compute(CsrGraph.from(graph)));
+            double plannerMs = time(graph, null);
+            System.out.printf("%-14s %-58s %9.0f   %-58s %9.0f %6.1f%%%n",
+                    family.getKey(), bestName, bestMs, chosen, plannerMs, 100 * plannerMs / bestMs);
+        }
+    }
+
+    private static List<PipelineOptions> matrix(boolean dag) {
+        List<PipelineOptions> matrix = new ArrayList<>();
+        for (Layout layout : Layout.values()) {
+            for (SccEngine scc : SccEngine.values()) {
+                if (scc == SccEngine.NONE && !dag) continue;
+                for (PathDp dp : PathDp.values()) {
+                    matrix.add(new PipelineOptions(layout, scc, TopoVariant.KAHN, dp));
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Fastest of several runs; with null options the planner decides each time.
+     */
+    private static double time(GraphView graph, PipelineOptions fixed) {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            if (fixed == null) {
+                Main.runPlanned(graph, -1);
+            } else {
+                GraphStats stats = fixed.sccEngine == SccEngine.NONE ? GraphStats.compute(graph) : null;
+                Main.runPipeline(graph, -1, stats, fixed);
+            }
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000.0);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.bench;
+
+import org.example.Metrics;
+import org.example.graph.CsrGraph;
+import org.example.graph.dagscp.DAGShortestPath;
+import org.example.graph.dagscp.PointToPointQuery;
+import org.example.graph.dagscp.PredecessorIndex;
+import org.example.graph.workspace.Workspace;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Latency of random source-to-target queries on a large DAG: a full
+ * shortest-path sweep from the source (on a workspace, so neither side pays
+ * for allocation) against {@link PointToPointQuery}. Targets lie a
+ * log-uniform number of positions after the source, from neighbors to the
+ * far end of the order, and both answers are checked against each other.
+ * Prints latency percentiles and the mean share of vertices a query explored.
+ * Usage: PointToPointBenchmark [n] [queries] [avgDegree] [window]  (defaults 1000000, 500, 3, 1000)
+ */
+public class PointToPointBenchmark {
+
+    public static void main(String[] args) {
+        int n = BenchmarkGraphs.intArg(args, 0, 1_000_000);
+        int queries = BenchmarkGraphs.intArg(args, 1, 500);
+        int avgDegree = BenchmarkGraphs.intArg(args, 2, 3);
+        int window = BenchmarkGraphs.intArg(args, 3, 1000);
+
+        System.out.println("Building DAG: n=" + n + ", avgDegree=" + avgDegree + ", window=" + window);
+        CsrGraph dag = BenchmarkGraphs.randomDagCsr(n, avgDegree, window, 42);
+        List<Integer> topoOrder = BenchmarkGraphs.identityOrder(n);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        PointToPointQuery pointToPoint = new PointToPointQuery(new PredecessorIndex(dag, topoOrder), new Metrics());
+        DAGShortestPath sweep = new DAGShortestPath(dag, new Metrics());
+        Workspace workspace = Workspace.current();
+
+        Random random = new Random(7);
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            sources[q] = random.nextInt(n);
+            int gap = (int) Math.min(n - 1 - sources[q], Math.round(Math.pow(n, random.nextDouble())));
+            targets[q] = sources[q] + gap;
+        }
+
+        long[] sweepNanos = new long[queries];
+        long[] queryNanos = new long[queries];
+        double explored = 0;
+        int reachable = 0;
+        for (int run = 0; run < 2; run++) {
+            for (int q = 0; q < queries; q++) {
+                long start = System.nanoTime();
+                int expected = sweep.shortestPaths(order, n, sources[q], workspace).distance(targets[q]);
+                sweepNanos[q] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                PointToPointQuery.Result result = pointToPoint.query(sources[q], targets[q], workspace);
+                queryNanos[q] = System.nanoTime() - start;
+
+                if (result.distance != expected) {
+                    throw new IllegalStateException("Query " + q + ": " + result.distance + " != " + expected);
+                }
+                if (run == 1) {
+                    explored += (double) result.explored / n;
+                    if (result.isReachable()) reachable++;
+                }
+            }
+        }
+
+        System.out.printf("%d queries, %d reachable, mean explored %.2f%% of vertices%n",
+                queries, reachable, 100 * explored / queries);
+        System.out.printf("%-16s %10s %10s %10s %10s %10s%n", "variant", "p50 us", "p90 us", "p99 us", "max us", "mean us");
+        print("full sweep", sweepNanos);
+        print("point-to-point", queryNanos);
+    }
+
+    private static void print(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0);
+        System.out.printf("%-16s %10.0f %10.0f %10.0f %10.0f %10.0f%n", name,
+                percentile(sorted, 0.5), percentile(sorted, 0.9), percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1e3, mean / 1e3);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))] / 1e3;
+    }
+}
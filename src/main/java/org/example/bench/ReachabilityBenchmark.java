@@ -0,0 +1,81 @@
+package org.example.bench;
+
+import org.example.graph.CsrGraph;
+import org.example.graph.reach.ReachabilityQuery;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Times multi-source descendant and ancestor queries of ReachabilityQuery
+ * against a plain sequential queue-based BFS on a random CSR graph.
+ * Use {@code -Xmx} large enough for the graph and its transpose
+ * (about 16 bytes per edge); 12500000 8 gives 100M edges.
+ * Usage: ReachabilityBenchmark [n] [avgDegree] [sources]
+ */
+public class ReachabilityBenchmark {
+
+    public static void main(String[] args) {
+        int n = BenchmarkGraphs.intArg(args, 0, 4_000_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 1, 8);
+        int sourceCount = BenchmarkGraphs.intArg(args, 2, 10);
+
+        System.out.println("Building random CSR graph: n=" + n + ", avgDegree=" + avgDegree);
+        CsrGraph graph = BenchmarkGraphs.randomCsr(n, avgDegree, 42);
+        CsrGraph transpose = graph.transpose();
+
+        long start = System.nanoTime();
+        ReachabilityQuery query = new ReachabilityQuery(graph);
+        System.out.printf("Index (transpose) built in %.0f ms%n", (System.nanoTime() - start) / 1e6);
+
+        Random random = new Random(7);
+        for (int round = 0; round < 3; round++) {
+            int[] sources = new int[sourceCount];
+            for (int i = 0; i < sourceCount; i++) {
+                sources[i] = random.nextInt(n);
+            }
+            System.out.println("--- round " + (round + 1) + ", " + sourceCount + " sources ---");
+
+            start = System.nanoTime();
+            BitSet baseline = sequentialBfs(graph, sources);
+            report("Sequential BFS, descendants", start, baseline.cardinality());
+
+            start = System.nanoTime();
+            BitSet descendants = query.descendants(sources);
+            report("Bitset BFS, descendants", start, descendants.cardinality());
+
+            start = System.nanoTime();
+            baseline = sequentialBfs(transpose, sources);
+            report("Sequential BFS, ancestors", start, baseline.cardinality());
+
+            start = System.nanoTime();
+            BitSet ancestors = query.ancestors(sources);
+            report("Bitset BFS, ancestors", start, ancestors.cardinality());
+        }
+    }
+
+    private static BitSet sequentialBfs(CsrGraph graph, int[] sources) {
+        BitSet visited = new BitSet(graph.getVertexCount());
+        int[] queue = new int[graph.getVertexCount() + sources.length];
+        int head = 0;
+        int tail = 0;
+        for (int s : sources) {
+            queue[tail++] = s;
+        }
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                int v = graph.getTarget(u, i);
+                if (!visited.get(v)) {
+                    visited.set(v);
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return visited;
+    }
+
+    private static void report(String name, long start, int reached) {
+        System.out.printf("%-28s %7.1f ms  (%d tasks)%n", name, (System.nanoTime() - start) / 1e6, reached);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.bench;
+
+import org.example.GraphStats;
+import org.example.Main;
+import org.example.Planner;
+import org.example.PipelineOptions;
+import org.example.PipelineOptions.Relabel;
+import org.example.graph.CsrGraph;
+import org.example.graph.relabel.Relabeling;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the planned pipeline on large graphs with shuffled vertex ids, with
+ * and without each relabeling, and reports total time (relabeling included)
+ * next to the cost of computing the relabeling on its own (inside the
+ * pipeline a DAG reuses the stats pass's topological order, so topological
+ * relabeling is cheaper there). Without hardware counters, locality is
+ * shown by the mean log2 id gap along edges: ids that differ by less than 16
+ * share a 64-byte line of an int array. Fastest of three runs.
+ * Usage: RelabelBenchmark [n] [avgDegree]  (defaults 1000000, 4)
+ */
+public class RelabelBenchmark {
+
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) {
+        int n = BenchmarkGraphs.intArg(args, 0, 1_000_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 1, 4);
+
+        Map<String, CsrGraph> families = new LinkedHashMap<>();
+        families.put("shuffled local DAG", BenchmarkGraphs.shuffled(BenchmarkGraphs.randomDagCsr(n, avgDegree, 1000, 1), 2));
+        families.put("shuffled local cyclic", BenchmarkGraphs.shuffled(BenchmarkGraphs.localGraph(n, avgDegree, 1000, 3), 4));
+        families.put("uniform random", BenchmarkGraphs.randomCsr(n, avgDegree, 5));
+
+        System.out.printf("%-22s %-12s %10s %10s %10s%n", "family", "relabel", "gap log2", "relabel ms", "total ms");
+        for (Map.Entry<String, CsrGraph> family : families.entrySet()) {
+            CsrGraph graph = family.getValue();
+            GraphStats stats = GraphStats.compute(graph);
+            PipelineOptions planned = Planner.plan(stats);
+            System.out.printf("%s: planner picks relabel=%s%n", family.getKey(), planned.relabel.name().toLowerCase());
+            for (Relabel relabel : Relabel.values()) {
+                double relabelMs = 0;
+                double gap = meanLogGap(graph);
+                if (relabel != Relabel.NONE) {
+                    relabelMs = Double.MAX_VALUE;
+                    for (int run = 0; run < RUNS; run++) {
+                        long start = System.nanoTime();
+                        Relabeling relabeling = Relabeling.compute(graph, Relabeling.Strategy.valueOf(relabel.name()));
+                        relabelMs = Math.min(relabelMs, (System.nanoTime() - start) / 1e6);
+                        gap = meanLogGap(relabeling.graph);
+                    }
+                }
+
+                PipelineOptions options = planned.withRelabel(relabel);
+                double totalMs = Double.MAX_VALUE;
+                for (int run = 0; run < RUNS; run++) {
+                    long start = System.nanoTime();
+                    Main.runPipeline(graph, -1, stats, options);
+                    totalMs = Math.min(totalMs, (System.nanoTime() - start) / 1e6);
+                }
+                System.out.printf("%-22s %-12s %10.1f %10.0f %10.0f%n",
+                        family.getKey(), relabel.name().toLowerCase(), gap, relabelMs, totalMs);
+            }
+        }
+    }
+
+    private static double meanLogGap(CsrGraph graph) {
+        double sum = 0;
+        for (int u = 0; u < graph.getVertexCount(); u++) {
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                sum += Math.log(1 + Math.abs(graph.getTarget(u, i) - u)) / Math.log(2);
+            }
+        }
+        return sum / Math.max(1, graph.getEdgeCount());
+    }
+}
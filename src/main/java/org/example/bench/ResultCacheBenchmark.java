@@ -0,0 +1,43 @@
+package org.example.bench;
+
+import org.example.Main;
+import org.example.ResultCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Times a cold pipeline run (parse + compute + store) against a cache hit on
+ * a generated graph file.
+ * Usage: ResultCacheBenchmark [n] [avgDegree]
+ */
+public class ResultCacheBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int n = BenchmarkGraphs.intArg(args, 0, 200_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 1, 4);
+
+        Path dir = Files.createTempDirectory("result-cache-bench");
+        Path file = dir.resolve("graph.json");
+        BenchmarkGraphs.writeJson(BenchmarkGraphs.randomDag(n, avgDegree, 64, 42), file);
+        System.out.printf("Graph file: %d vertices, %.1f MB%n", n, Files.size(file) / 1e6);
+
+        for (int round = 0; round < 3; round++) {
+            ResultCache cache = new ResultCache(dir.resolve("cache-" + round), 1L << 30);
+
+            long start = System.nanoTime();
+            Main.PipelineResult cold = Main.loadOrCompute(file.toString(), cache);
+            double coldMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            start = System.nanoTime();
+            Main.PipelineResult hit = Main.loadOrCompute(file.toString(), cache);
+            double hitMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            System.out.printf("Round %d: cold %.0f ms, cached %.0f ms (%.1f%%), same result: %b%n",
+                    round + 1, coldMs, hitMs, 100 * hitMs / coldMs,
+                    hit.isFromCache() && cold.criticalPathLength() == hit.criticalPathLength()
+                            && cold.getSccCount() == hit.getSccCount());
+        }
+    }
+}
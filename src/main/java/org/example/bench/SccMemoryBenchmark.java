@@ -0,0 +1,66 @@
+package org.example.bench;
+
+import org.example.Graph;
+import org.example.Metrics;
+import org.example.graph.scc.PearceSCC;
+import org.example.graph.scc.TarjanSCC;
+
+import java.util.List;
+
+/**
+ * Compares memory use and runtime of TarjanSCC and PearceSCC.
+ * "Allocated" is every byte allocated during the run; "retained" is the heap
+ * still held by the result after a full GC. Tarjan is run on a thread with a
+ * large stack because its DFS is recursive.
+ * Usage: SccMemoryBenchmark [n] [avgDegree]
+ */
+public class SccMemoryBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = BenchmarkGraphs.intArg(args, 0, 1_000_000);
+        int avgDegree = BenchmarkGraphs.intArg(args, 1, 2);
+
+        System.out.println("Building random graph: n=" + n + ", avgDegree=" + avgDegree);
+        Graph graph = BenchmarkGraphs.randomGraph(n, avgDegree, 42);
+
+        Object[] tarjanResult = new Object[1];
+        Thread tarjanThread = new Thread(null, () -> {
+            long heapBefore = BenchmarkGraphs.usedHeapBytes();
+            long allocBefore = BenchmarkGraphs.allocatedBytes();
+            Metrics metrics = new Metrics();
+            List<List<Integer>> sccs = new TarjanSCC(graph, metrics).findSCCs();
+            long allocated = BenchmarkGraphs.allocatedBytes() - allocBefore;
+            long retained = BenchmarkGraphs.usedHeapBytes() - heapBefore;
+            tarjanResult[0] = sccs;
+            report("TarjanSCC", sccs.size(), metrics, allocated, retained, n);
+        }, "tarjan", 2L << 30);
+        tarjanThread.start();
+        tarjanThread.join();
+
+        long heapBefore = BenchmarkGraphs.usedHeapBytes();
+        long allocBefore = BenchmarkGraphs.allocatedBytes();
+        Metrics metrics = new Metrics();
+        PearceSCC pearce = new PearceSCC(graph, metrics);
+        int[] componentOf = pearce.findComponents();
+        long allocated = BenchmarkGraphs.allocatedBytes() - allocBefore;
+        long retained = BenchmarkGraphs.usedHeapBytes() - heapBefore;
+        report("PearceSCC", pearce.getComponentCount(), metrics, allocated, retained, n);
+
+        @SuppressWarnings("unchecked")
+        List<List<Integer>> sccs = (List<List<Integer>>) tarjanResult[0];
+        boolean same = sccs != null && sccs.size() == pearce.getComponentCount();
+        for (int i = 0; same && i < sccs.size(); i++) {
+            for (int v : sccs.get(i)) {
+                same &= componentOf[v] == i;
+            }
+        }
+        System.out.println("Same components: " + same);
+    }
+
+    private static void report(String name, int components, Metrics metrics, long allocated, long retained, int n) {
+        System.out.printf("%-10s components=%d time=%.1f ms allocated=%.1f MB (%.1f B/vertex) "
+                        + "retained=%.1f MB (%.1f B/vertex)%n",
+                name, components, metrics.getElapsedTimeMillis(),
+                allocated / 1e6, (double) allocated / n, retained / 1e6, (double) retained / n);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.bench;
+
+import org.example.Metrics;
+import org.example.graph.CsrGraph;
+import org.example.graph.dagscp.DAGShortestPath;
+import org.example.graph.scc.TarjanSCC;
+import org.example.graph.topo.TopologicalSort;
+import org.example.graph.workspace.Workspace;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Repeats an SCC + topological sort + shortest path query on one large DAG,
+ * once with the allocating algorithms and once borrowing a per-thread
+ * {@link Workspace}, and reports time, bytes allocated and collector activity
+ * per query. Each phase runs on its own thread with a large stack, since the
+ * allocating Tarjan is recursive, and so starts with an empty workspace.
+ * Usage: WorkspaceBenchmark [n] [queries] [avgDegree]  (defaults 1000000, 30, 3)
+ */
+public class WorkspaceBenchmark {
+
+    private static final long STACK_SIZE = 1L << 30;
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = BenchmarkGraphs.intArg(args, 0, 1_000_000);
+        int queries = BenchmarkGraphs.intArg(args, 1, 30);
+        int avgDegree = BenchmarkGraphs.intArg(args, 2, 3);
+
+        System.out.println("Building DAG: n=" + n + ", avgDegree=" + avgDegree + ", queries=" + queries);
+        CsrGraph dag = BenchmarkGraphs.randomDagCsr(n, avgDegree, 1000, 42);
+
+        System.out.printf("%-12s %10s %12s %8s %8s%n", "variant", "ms/query", "MB/query", "GCs", "GC ms");
+        TopologicalSort topo = new TopologicalSort(dag, new Metrics());
+        DAGShortestPath paths = new DAGShortestPath(dag, new Metrics());
+        int[] componentOf = new int[n];
+        int[] order = new int[n];
+        for (int round = 0; round < 2; round++) {
+            run("allocating", q -> {
+                new TarjanSCC(dag, new Metrics()).findSCCs();
+                List<Integer> sorted = topo.sortKahn();
+                paths.shortestPaths(sorted, sorted.get(q % n));
+            }, queries);
+            run("workspace", q -> {
+                Workspace workspace = Workspace.current();
+                new TarjanSCC(dag, new Metrics()).findComponents(workspace, componentOf);
+                int count = topo.sortKahn(workspace, order);
+                paths.shortestPaths(order, count, order[q % n], workspace);
+            }, queries);
+        }
+    }
+
+    /**
+     * Runs one unmeasured query first, which sizes the new thread's workspace.
+     */
+    private static void run(String name, IntConsumer query, int count) throws InterruptedException {
+        long[] allocated = new long[1];
+        long[] gcBefore = new long[2];
+        long[] nanos = new long[1];
+        Thread thread = new Thread(null, () -> {
+            query.accept(0);
+            gcBefore[0] = gcCount();
+            gcBefore[1] = gcMillis();
+            long before = BenchmarkGraphs.allocatedBytes();
+            long start = System.nanoTime();
+            for (int q = 1; q <= count; q++) {
+                query.accept(q);
+            }
+            nanos[0] = System.nanoTime() - start;
+            allocated[0] = BenchmarkGraphs.allocatedBytes() - before;
+        }, name, STACK_SIZE);
+        thread.start();
+        thread.join();
+        System.out.printf("%-12s %10.1f %12.2f %8d %8d%n", name, nanos[0] / 1e6 / count,
+                allocated[0] / 1e6 / count, gcCount() - gcBefore[0], gcMillis() - gcBefore[1]);
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, bean.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, bean.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,617 @@
+package org.example.distributed;
+
+import org.example.EdgeListLoader;
+import org.example.Main;
+import org.example.Main.PipelineResult;
+import org.example.graph.CsrGraph;
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the pipeline with the edges spread over several {@link WorkerNode}
+ * processes on this machine, for graphs whose edges do not fit one JVM.
+ * Every worker holds the out-edges of one range of source vertices, ranges
+ * cut so each gets about the same number of edges. An edge-list file is
+ * read twice, once for the out-degrees and once to stream every edge to its
+ * worker in chunks, so the coordinator never holds the whole graph. Each
+ * worker normalizes its slice like the single-process loader.
+ * SCCs are found by forward-backward search (Fleischer, Hendrickson and
+ * Pinar, 2000) on all open subproblems at once. Each subproblem is a color:
+ * vertices without in- or out-edges inside their color are peeled off as
+ * single-vertex SCCs, then every color's smallest vertex is a pivot whose
+ * forward and backward closures within the color are found by level-synchronous
+ * BFS. Their intersection is the pivot's SCC, and the forward-only,
+ * backward-only and remaining vertices become three new colors. Workers
+ * expand frontiers over their own edges; the coordinator merges the levels.
+ * The workers then send their condensation edges, deduplicated as
+ * {@link org.example.graph.scc.Condensation#build} does, and the edges inside
+ * SCCs. The coordinator rebuilds the condensation and a {@link CsrGraph} of
+ * the internal edges, which the task ordering inside SCCs needs, and
+ * finishes with {@link Main#runOnComponents}.
+ * Memory in the coordinator is a few ints per vertex plus 8 bytes per edge
+ * inside an SCC, so a graph that is mostly one giant SCC still has nearly
+ * all its edges there, though far more compactly than a {@link org.example.Graph}.
+ * SCCs are numbered in discovery order, not Tarjan's order; the components
+ * themselves, the condensation and the path lengths are the same.
+ */
+public class Coordinator implements AutoCloseable {
+
+    private static final int CONNECT_TIMEOUT_MS = 60_000;
+    // Edges per EDGES message and worker
+    private static final int EDGE_CHUNK = 1 << 16;
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    private final List<Process> processes = new ArrayList<>();
+    private final List<Socket> sockets = new ArrayList<>();
+    private final DataInputStream[] in;
+    private final DataOutputStream[] out;
+
+    private int n;
+    private int[] rangeStart;
+    private long duplicates;
+    private long selfLoops;
+    private int[] color;
+    // Color changes not yet sent to the workers
+    private int[] changedVertices;
+    private int[] changedColors;
+    private int changed;
+    private int roundTrips;
+
+    public Coordinator(int workers) throws IOException {
+        this(workers, Collections.emptyList());
+    }
+
+    /**
+     * Starts the worker processes with this JVM's classpath and waits until
+     * all of them have connected.
+     * @param jvmOptions extra JVM options for the workers, e.g. a heap size
+     */
+    public Coordinator(int workers, List<String> jvmOptions) throws IOException {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Need at least one worker: " + workers);
+        }
+        in = new DataInputStream[workers];
+        out = new DataOutputStream[workers];
+
+        try (ServerSocket server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(CONNECT_TIMEOUT_MS);
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            for (int k = 0; k < workers; k++) {
+                List<String> command = new ArrayList<>();
+                command.add(java);
+                command.addAll(jvmOptions);
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(WorkerNode.class.getName());
+                command.add(server.getInetAddress().getHostAddress());
+                command.add(String.valueOf(server.getLocalPort()));
+                processes.add(new ProcessBuilder(command)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start());
+            }
+            for (int k = 0; k < workers; k++) {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                sockets.add(socket);
+                in[k] = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out[k] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            }
+        } catch (SocketTimeoutException e) {
+            close();
+            throw new IOException("Only " + sockets.size() + " of " + workers + " workers connected", e);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public int getWorkerCount() {
+        return in.length;
+    }
+
+    /**
+     * Runs the whole pipeline on the graph, which is streamed to the workers.
+     * @param source source vertex for the shortest paths, or -1 for vertex 0
+     */
+    public PipelineResult run(GraphView graph, int source) throws IOException {
+        int vertexCount = graph.getVertexCount();
+        int[] outDegree = new int[vertexCount];
+        for (int u = 0; u < vertexCount; u++) {
+            outDegree[u] = graph.getOutDegree(u);
+        }
+        load(vertexCount, outDegree, router -> {
+            EdgeCursor it = graph.cursor();
+            for (int u = 0; u < vertexCount; u++) {
+                it.reset(u);
+                while (it.next()) {
+                    router.add(u, it.target(), it.weight());
+                }
+            }
+        });
+        return finish(source);
+    }
+
+    /**
+     * Runs the whole pipeline on a plain edge list (see {@link EdgeListLoader}),
+     * streamed from the file to the workers without loading the graph here.
+     * @param source source vertex for the shortest paths, or -1 for vertex 0
+     */
+    public PipelineResult run(Path edgeList, int source) throws IOException {
+        EdgeListLoader loader = new EdgeListLoader();
+        int[][] outDegree = {new int[1024]};
+        int maxId = loader.scan(edgeList, (sources, targets, weights, count) -> {
+            for (int e = 0; e < count; e++) {
+                int u = sources[e];
+                if (u >= outDegree[0].length) {
+                    outDegree[0] = Arrays.copyOf(outDegree[0], Math.max(u + 1, 2 * outDegree[0].length));
+                }
+                outDegree[0][u]++;
+            }
+        });
+        int vertexCount = maxId + 1;
+        load(vertexCount, Arrays.copyOf(outDegree[0], vertexCount), router ->
+                loader.scan(edgeList, (sources, targets, weights, count) -> {
+                    for (int e = 0; e < count; e++) {
+                        router.add(sources[e], targets[e], weights[e]);
+                    }
+                }));
+        return finish(source);
+    }
+
+    /**
+     * Parallel edges merged by the workers in the last run.
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Self-loops dropped by the workers in the last run.
+     */
+    public long getSelfLoops() {
+        return selfLoops;
+    }
+
+    private PipelineResult finish(int source) throws IOException {
+        int[] componentOf = new int[n];
+        int componentCount = findComponents(componentOf);
+        CsrGraph condensation = condense(componentOf, componentCount);
+        CsrGraph internal = internalEdges();
+        String plan = "distributed SCC on " + in.length + " worker processes (" + roundTrips + " round trips)";
+        return Main.runOnComponents(internal, componentOf, componentCount, condensation, source, plan);
+    }
+
+    /**
+     * Produces every edge of the graph once, in input order.
+     */
+    private interface EdgeSource {
+        void send(EdgeRouter router) throws IOException;
+    }
+
+    /**
+     * Cuts the source ranges at vertex boundaries near equal shares of the
+     * edges and streams every worker its edges.
+     */
+    private void load(int vertexCount, int[] outDegree, EdgeSource edges) throws IOException {
+        n = vertexCount;
+        long m = 0;
+        for (int degree : outDegree) {
+            m += degree;
+        }
+        int workers = in.length;
+        rangeStart = new int[workers + 1];
+        long seen = 0;
+        int k = 1;
+        for (int u = 0; u < n && k < workers; u++) {
+            seen += outDegree[u];
+            while (k < workers && seen >= m * k / workers) {
+                rangeStart[k++] = u + 1;
+            }
+        }
+        while (k <= workers) {
+            rangeStart[k++] = n;
+        }
+
+        for (k = 0; k < workers; k++) {
+            long sliceEdges = 0;
+            for (int u = rangeStart[k]; u < rangeStart[k + 1]; u++) {
+                sliceEdges += outDegree[u];
+            }
+            out[k].writeInt(Protocol.LOAD);
+            out[k].writeInt(n);
+            out[k].writeInt(rangeStart[k]);
+            out[k].writeInt(rangeStart[k + 1] - rangeStart[k]);
+            out[k].writeInt((int) Math.min(sliceEdges, Integer.MAX_VALUE - 8));
+            out[k].flush();
+        }
+        for (k = 0; k < workers; k++) {
+            in[k].readInt();
+        }
+
+        EdgeRouter router = new EdgeRouter();
+        edges.send(router);
+        router.flush();
+
+        duplicates = 0;
+        selfLoops = 0;
+        for (DataOutputStream o : out) {
+            o.writeInt(Protocol.BUILD);
+            o.flush();
+        }
+        for (DataInputStream i : in) {
+            duplicates += i.readInt();
+            selfLoops += i.readInt();
+        }
+
+        color = new int[n];
+        changedVertices = new int[n];
+        changedColors = new int[n];
+        changed = 0;
+        roundTrips = 2;
+    }
+
+    /**
+     * Buffers edges per worker and sends them in chunks of {@link #EDGE_CHUNK}.
+     */
+    private class EdgeRouter {
+        private final int[][] sources = new int[in.length][EDGE_CHUNK];
+        private final int[][] targets = new int[in.length][EDGE_CHUNK];
+        private final int[][] weights = new int[in.length][EDGE_CHUNK];
+        private final int[] size = new int[in.length];
+
+        void add(int u, int v, int w) throws IOException {
+            if (u < 0 || u >= n || v < 0 || v >= n) {
+                throw new IllegalArgumentException("Edge " + u + " -> " + v + " outside [0, " + n + ")");
+            }
+            int k = workerOf(u);
+            int i = size[k]++;
+            sources[k][i] = u;
+            targets[k][i] = v;
+            weights[k][i] = w;
+            if (size[k] == EDGE_CHUNK) {
+                send(k);
+            }
+        }
+
+        void flush() throws IOException {
+            for (int k = 0; k < in.length; k++) {
+                if (size[k] > 0) send(k);
+                out[k].flush();
+            }
+        }
+
+        private void send(int k) throws IOException {
+            out[k].writeInt(Protocol.EDGES);
+            Protocol.writeInts(out[k], sources[k], size[k]);
+            Protocol.writeInts(out[k], targets[k], size[k]);
+            Protocol.writeInts(out[k], weights[k], size[k]);
+            size[k] = 0;
+        }
+
+        private int workerOf(int u) {
+            // Last range starting at or before u; empty ranges share a start
+            int low = 0;
+            int high = in.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (rangeStart[mid] <= u) low = mid;
+                else high = mid - 1;
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Forward-backward search with peeling, over all colors at once.
+     * @return number of components
+     */
+    private int findComponents(int[] componentOf) throws IOException {
+        Arrays.fill(componentOf, -1);
+        int count = 0;
+        int colors = 1;
+        int active = n;
+        int[] frontier = new int[n];
+        byte[] reach = new byte[n];
+
+        while (active > 0) {
+            int[][] degrees = degrees();
+            int[] inDegree = degrees[0];
+            int[] outDegree = degrees[1];
+
+            // Peel vertices with no in- or out-edges inside their color, level by level
+            int size = 0;
+            for (int v = 0; v < n; v++) {
+                if (color[v] >= 0 && (inDegree[v] == 0 || outDegree[v] == 0)) frontier[size++] = v;
+            }
+            while (size > 0) {
+                int[] successors = expand(Protocol.FORWARD, frontier, size);
+                int[] predecessors = expand(Protocol.BACKWARD, frontier, size);
+                for (int i = 0; i < size; i++) {
+                    componentOf[frontier[i]] = count++;
+                    setColor(frontier[i], -1);
+                }
+                active -= size;
+                size = 0;
+                // A vertex joins the next level when its first degree drops to zero
+                for (int v : successors) {
+                    if (color[v] >= 0 && --inDegree[v] == 0 && outDegree[v] > 0) frontier[size++] = v;
+                }
+                for (int u : predecessors) {
+                    if (color[u] >= 0 && --outDegree[u] == 0 && inDegree[u] > 0) frontier[size++] = u;
+                }
+            }
+            if (active == 0) break;
+
+            // Every color's smallest vertex is its pivot
+            boolean[] hasPivot = new boolean[colors];
+            int[] pivots = new int[colors];
+            int pivotCount = 0;
+            for (int v = 0; v < n; v++) {
+                if (color[v] >= 0 && !hasPivot[color[v]]) {
+                    hasPivot[color[v]] = true;
+                    pivots[pivotCount++] = v;
+                }
+            }
+            search(Protocol.FORWARD, pivots, pivotCount, frontier, reach, 1);
+            search(Protocol.BACKWARD, pivots, pivotCount, frontier, reach, 2);
+
+            // Split every color; new colors are numbered from 0 again
+            int[] scc = new int[colors];
+            int[] split = new int[3 * colors];
+            Arrays.fill(scc, -1);
+            Arrays.fill(split, -1);
+            int nextColors = 0;
+            for (int v = 0; v < n; v++) {
+                int c = color[v];
+                if (c < 0) continue;
+                if (reach[v] == 3) {
+                    if (scc[c] == -1) scc[c] = count++;
+                    componentOf[v] = scc[c];
+                    setColor(v, -1);
+                    active--;
+                } else {
+                    int part = 3 * c + reach[v];
+                    if (split[part] == -1) split[part] = nextColors++;
+                    setColor(v, split[part]);
+                }
+                reach[v] = 0;
+            }
+            colors = nextColors;
+        }
+        flushColors();
+        return count;
+    }
+
+    /**
+     * Sets bit in reach for everything reachable from the roots within their colors.
+     */
+    private void search(int direction, int[] roots, int rootCount, int[] frontier, byte[] reach, int bit)
+            throws IOException {
+        int size = rootCount;
+        for (int i = 0; i < size; i++) {
+            frontier[i] = roots[i];
+            reach[roots[i]] |= bit;
+        }
+        while (size > 0) {
+            int[] found = expand(direction, frontier, size);
+            size = 0;
+            for (int v : found) {
+                if ((reach[v] & bit) == 0) {
+                    reach[v] |= bit;
+                    frontier[size++] = v;
+                }
+            }
+        }
+    }
+
+    private void setColor(int v, int c) {
+        color[v] = c;
+        changedVertices[changed] = v;
+        changedColors[changed++] = c;
+    }
+
+    private void flushColors() throws IOException {
+        if (changed == 0) return;
+        for (DataOutputStream o : out) {
+            o.writeInt(Protocol.COLORS);
+            Protocol.writeInts(o, changedVertices, changed);
+            Protocol.writeInts(o, changedColors, changed);
+            o.flush();
+        }
+        for (DataInputStream i : in) {
+            i.readInt();
+        }
+        changed = 0;
+        roundTrips++;
+    }
+
+    /**
+     * In- and out-degrees inside colors, summed over the workers.
+     */
+    private int[][] degrees() throws IOException {
+        flushColors();
+        for (DataOutputStream o : out) {
+            o.writeInt(Protocol.DEGREES);
+            o.flush();
+        }
+        int[] inDegree = new int[n];
+        int[] outDegree = new int[n];
+        int first = 0;
+        for (DataInputStream i : in) {
+            int[] owned = Protocol.readInts(i);
+            System.arraycopy(owned, 0, outDegree, first, owned.length);
+            first += owned.length;
+            int[] partial = Protocol.readInts(i);
+            for (int v = 0; v < n; v++) {
+                inDegree[v] += partial[v];
+            }
+        }
+        roundTrips++;
+        return new int[][]{inDegree, outDegree};
+    }
+
+    /**
+     * Neighbors of the frontier inside their colors from all workers, one per edge.
+     */
+    private int[] expand(int direction, int[] frontier, int size) throws IOException {
+        flushColors();
+        for (DataOutputStream o : out) {
+            o.writeInt(Protocol.EXPAND);
+            o.writeInt(direction);
+            Protocol.writeInts(o, frontier, size);
+            o.flush();
+        }
+        int[][] parts = new int[in.length][];
+        int total = 0;
+        for (int k = 0; k < in.length; k++) {
+            parts[k] = Protocol.readInts(in[k]);
+            total += parts[k].length;
+        }
+        roundTrips++;
+        int[] found = new int[total];
+        int at = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, found, at, part.length);
+            at += part.length;
+        }
+        return found;
+    }
+
+    /**
+     * Merges the workers' condensation edges. Workers hold increasing source
+     * ranges, so concatenating their lists and grouping by source component
+     * with a stable counting sort visits each component's edges in source
+     * vertex order, as {@link org.example.graph.scc.Condensation#build} does.
+     */
+    private CsrGraph condense(int[] componentOf, int componentCount) throws IOException {
+        for (DataOutputStream o : out) {
+            o.writeInt(Protocol.CONDENSE);
+            Protocol.writeInts(o, componentOf);
+            o.writeInt(componentCount);
+            o.flush();
+        }
+        int[][] sources = new int[in.length][];
+        int[][] dests = new int[in.length][];
+        int[][] weights = new int[in.length][];
+        int[] offsets = new int[componentCount + 1];
+        int total = 0;
+        for (int k = 0; k < in.length; k++) {
+            sources[k] = Protocol.readInts(in[k]);
+            dests[k] = Protocol.readInts(in[k]);
+            weights[k] = Protocol.readInts(in[k]);
+            for (int c : sources[k]) {
+                offsets[c + 1]++;
+            }
+            total += sources[k].length;
+        }
+        roundTrips++;
+        for (int c = 0; c < componentCount; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] groupedDests = new int[total];
+        int[] groupedWeights = new int[total];
+        int[] next = Arrays.copyOf(offsets, componentCount);
+        for (int k = 0; k < in.length; k++) {
+            for (int e = 0; e < sources[k].length; e++) {
+                int slot = next[sources[k][e]]++;
+                groupedDests[slot] = dests[k][e];
+                groupedWeights[slot] = weights[k][e];
+            }
+        }
+
+        // Components spanning workers may repeat a target; keep its first edge
+        int[] lastSource = new int[componentCount];
+        Arrays.fill(lastSource, -1);
+        int[] condensedOffsets = new int[componentCount + 1];
+        int m = 0;
+        for (int c = 0; c < componentCount; c++) {
+            for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                int d = groupedDests[e];
+                if (lastSource[d] == c) continue;
+                lastSource[d] = c;
+                groupedDests[m] = d;
+                groupedWeights[m++] = groupedWeights[e];
+            }
+            condensedOffsets[c + 1] = m;
+        }
+        return new CsrGraph(condensedOffsets, groupedDests, groupedWeights);
+    }
+
+    /**
+     * Gathers the edges inside SCCs into a CSR over all vertices. Worker
+     * ranges are consecutive, so the degrees arrive in vertex order and every
+     * worker's edges land in one block.
+     */
+    private CsrGraph internalEdges() throws IOException {
+        for (DataOutputStream o : out) {
+            o.writeInt(Protocol.INTERNAL_EDGES);
+            o.flush();
+        }
+        int[] offsets = new int[n + 1];
+        for (int k = 0; k < in.length; k++) {
+            Protocol.readInts(in[k], offsets, rangeStart[k] + 1);
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int k = 0; k < in.length; k++) {
+            Protocol.readInts(in[k], targets, offsets[rangeStart[k]]);
+            Protocol.readInts(in[k], weights, offsets[rangeStart[k]]);
+        }
+        roundTrips++;
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Asks the workers to exit and waits for them; stuck workers are killed.
+     */
+    @Override
+    public void close() {
+        for (int k = 0; k < sockets.size(); k++) {
+            try {
+                out[k].writeInt(Protocol.SHUTDOWN);
+                out[k].flush();
+                in[k].readInt();
+            } catch (IOException e) {
+                // The worker is gone already
+            }
+        }
+        for (Socket socket : sockets) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
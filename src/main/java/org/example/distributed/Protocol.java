@@ -0,0 +1,91 @@
+package org.example.distributed;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format between {@link Coordinator} and {@link WorkerNode}: every
+ * request is an opcode followed by its arguments, and every request but
+ * {@link #EDGES} gets one reply. Int arrays are sent as a length and the
+ * values, big-endian, copied through a byte buffer in chunks instead of one
+ * writeInt call per value.
+ */
+final class Protocol {
+
+    /** n, the first owned source, the number of owned sources and of their edges. Reply: empty. */
+    static final int LOAD = 1;
+    /** Vertices and their new colors; color -1 removes a vertex from the search. Reply: empty. */
+    static final int COLORS = 2;
+    /** Reply: out-degrees of the owned sources and in-degrees of all vertices, within colors. */
+    static final int DEGREES = 3;
+    /** Direction and frontier. Reply: one neighbor per edge leaving the frontier within its color. */
+    static final int EXPAND = 4;
+    /** componentOf and the component count. Reply: deduplicated condensation edges as (c, d, w) arrays. */
+    static final int CONDENSE = 5;
+    /**
+     * Reply: out-degree inside its component of every owned source, then
+     * targets and weights of those edges, by source and adjacency order.
+     */
+    static final int INTERNAL_EDGES = 6;
+    static final int SHUTDOWN = 7;
+    /** Edges of owned sources as (u, v, w) arrays, in input order. No reply, so a slice streams in. */
+    static final int EDGES = 8;
+    /** Ends the slice: normalize and index it. Reply: duplicates merged and self-loops dropped. */
+    static final int BUILD = 9;
+
+    static final int FORWARD = 0;
+    static final int BACKWARD = 1;
+
+    private static final int CHUNK = 1 << 14;
+
+    private Protocol() {
+    }
+
+    static void writeInts(DataOutputStream out, int[] values, int count) throws IOException {
+        out.writeInt(count);
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Math.min(count, CHUNK));
+        for (int from = 0; from < count; from += CHUNK) {
+            int length = Math.min(CHUNK, count - from);
+            buffer.clear();
+            buffer.asIntBuffer().put(values, from, length);
+            out.write(buffer.array(), 0, 4 * length);
+        }
+    }
+
+    static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        writeInts(out, values, values.length);
+    }
+
+    static int[] readInts(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        int[] values = new int[count];
+        readValues(in, values, 0, count);
+        return values;
+    }
+
+    /**
+     * Reads an array written by {@link #writeInts} into values from offset at.
+     * @return number of values read
+     */
+    static int readInts(DataInputStream in, int[] values, int at) throws IOException {
+        int count = in.readInt();
+        if (at + count > values.length) {
+            throw new IOException("Reply of " + count + " values does not fit at " + at);
+        }
+        readValues(in, values, at, count);
+        return count;
+    }
+
+    private static void readValues(DataInputStream in, int[] values, int at, int count) throws IOException {
+        byte[] bytes = new byte[4 * Math.min(count, CHUNK)];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int from = 0; from < count; from += CHUNK) {
+            int length = Math.min(CHUNK, count - from);
+            in.readFully(bytes, 0, 4 * length);
+            buffer.clear();
+            buffer.asIntBuffer().get(values, at + from, length);
+        }
+    }
+}
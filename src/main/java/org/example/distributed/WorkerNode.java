@@ -0,0 +1,302 @@
+package org.example.distributed;
+
+import org.example.graph.CsrGraph;
+import org.example.graph.EdgeNormalizer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Arrays;
+
+/**
+ * One worker process of the distributed pipeline. It connects back to the
+ * {@link Coordinator}, receives the out-edges of a range of source vertices
+ * as a stream of chunks, normalizes them as the single-process loader does
+ * ({@link EdgeNormalizer}: first of parallel edges, no self-loops) and then
+ * answers requests (see {@link Protocol}) about those edges until told to
+ * shut down. Besides its edges, in both directions, a worker keeps
+ * one color per vertex of the whole graph, so it can tell which edges lie
+ * inside a subproblem of the forward-backward SCC search without asking.
+ * Usage: WorkerNode host port
+ */
+public class WorkerNode {
+
+    private int n;
+    private int first;
+    private int owned;
+    // The slice as it streams in, until BUILD
+    private int[] pendingSources;
+    private int[] pendingTargets;
+    private int[] pendingWeights;
+    private int pending;
+    private int[] offsets;
+    private int[] targets;
+    private int[] weights;
+    // The same edges indexed by target: sources of v at reverseSources[reverseOffsets[v] ..]
+    private int[] reverseOffsets;
+    private int[] reverseSources;
+    private int[] color;
+    private int[] componentOf;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: WorkerNode host port");
+        }
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            new WorkerNode().serve(in, out);
+        }
+    }
+
+    void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            int op = in.readInt();
+            switch (op) {
+                case Protocol.LOAD: load(in, out); break;
+                case Protocol.EDGES: addEdges(in); break;
+                case Protocol.BUILD: build(out); break;
+                case Protocol.COLORS: setColors(in, out); break;
+                case Protocol.DEGREES: degrees(out); break;
+                case Protocol.EXPAND: expand(in, out); break;
+                case Protocol.CONDENSE: condense(in, out); break;
+                case Protocol.INTERNAL_EDGES: internalEdges(out); break;
+                case Protocol.SHUTDOWN:
+                    out.writeInt(0);
+                    out.flush();
+                    return;
+                default: throw new IOException("Unknown request " + op);
+            }
+            out.flush();
+        }
+    }
+
+    private void load(DataInputStream in, DataOutputStream out) throws IOException {
+        n = in.readInt();
+        first = in.readInt();
+        owned = in.readInt();
+        int capacity = in.readInt();
+        pendingSources = new int[capacity];
+        pendingTargets = new int[capacity];
+        pendingWeights = new int[capacity];
+        pending = 0;
+        out.writeInt(0);
+    }
+
+    private void addEdges(DataInputStream in) throws IOException {
+        int[] sources = Protocol.readInts(in);
+        int[] edgeTargets = Protocol.readInts(in);
+        int[] edgeWeights = Protocol.readInts(in);
+        int count = sources.length;
+        if (pending + count > pendingSources.length) {
+            int capacity = Math.max(pending + count, 2 * pendingSources.length);
+            pendingSources = Arrays.copyOf(pendingSources, capacity);
+            pendingTargets = Arrays.copyOf(pendingTargets, capacity);
+            pendingWeights = Arrays.copyOf(pendingWeights, capacity);
+        }
+        for (int e = 0; e < count; e++) {
+            if (sources[e] < first || sources[e] >= first + owned) {
+                throw new IOException("Edge from " + sources[e] + " outside the owned range");
+            }
+        }
+        System.arraycopy(sources, 0, pendingSources, pending, count);
+        System.arraycopy(edgeTargets, 0, pendingTargets, pending, count);
+        System.arraycopy(edgeWeights, 0, pendingWeights, pending, count);
+        pending += count;
+    }
+
+    /**
+     * Normalizes the received slice, keeps its owned rows as a CSR from 0
+     * and indexes the same edges by target.
+     */
+    private void build(DataOutputStream out) throws IOException {
+        EdgeNormalizer.Result slice = new EdgeNormalizer().normalize(n, pendingSources, pendingTargets, pendingWeights, pending);
+        pendingSources = null;
+        pendingTargets = null;
+        pendingWeights = null;
+        CsrGraph graph = slice.graph;
+        offsets = new int[owned + 1];
+        for (int i = 0; i < owned; i++) {
+            offsets[i + 1] = offsets[i] + graph.getOutDegree(first + i);
+        }
+        int m = offsets[owned];
+        targets = new int[m];
+        weights = new int[m];
+        for (int i = 0; i < owned; i++) {
+            for (int k = 0; k < graph.getOutDegree(first + i); k++) {
+                targets[offsets[i] + k] = graph.getTarget(first + i, k);
+                weights[offsets[i] + k] = graph.getWeight(first + i, k);
+            }
+        }
+
+        reverseOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            reverseOffsets[targets[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        reverseSources = new int[m];
+        int[] next = new int[n];
+        System.arraycopy(reverseOffsets, 0, next, 0, n);
+        for (int i = 0; i < owned; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                reverseSources[next[targets[e]]++] = first + i;
+            }
+        }
+        color = new int[n];
+        out.writeInt(slice.duplicates);
+        out.writeInt(slice.selfLoops);
+    }
+
+    private void setColors(DataInputStream in, DataOutputStream out) throws IOException {
+        int[] vertices = Protocol.readInts(in);
+        int[] colors = Protocol.readInts(in);
+        for (int i = 0; i < vertices.length; i++) {
+            color[vertices[i]] = colors[i];
+        }
+        out.writeInt(0);
+    }
+
+    private void degrees(DataOutputStream out) throws IOException {
+        int[] outDegree = new int[owned];
+        int[] inDegree = new int[n];
+        for (int i = 0; i < owned; i++) {
+            int c = color[first + i];
+            if (c < 0) continue;
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                if (color[targets[e]] == c) {
+                    outDegree[i]++;
+                    inDegree[targets[e]]++;
+                }
+            }
+        }
+        Protocol.writeInts(out, outDegree);
+        Protocol.writeInts(out, inDegree);
+    }
+
+    /**
+     * Neighbors of the frontier in the same color, one per edge; counted
+     * first so the reply array is allocated once.
+     */
+    private void expand(DataInputStream in, DataOutputStream out) throws IOException {
+        boolean forward = in.readInt() == Protocol.FORWARD;
+        int[] frontier = Protocol.readInts(in);
+        int count = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            int[] found = pass == 0 ? null : new int[count];
+            count = 0;
+            for (int u : frontier) {
+                int c = color[u];
+                if (c < 0) continue;
+                if (forward) {
+                    int i = u - first;
+                    if (i < 0 || i >= owned) continue;
+                    for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                        if (color[targets[e]] == c) {
+                            if (found != null) found[count] = targets[e];
+                            count++;
+                        }
+                    }
+                } else {
+                    for (int e = reverseOffsets[u]; e < reverseOffsets[u + 1]; e++) {
+                        if (color[reverseSources[e]] == c) {
+                            if (found != null) found[count] = reverseSources[e];
+                            count++;
+                        }
+                    }
+                }
+            }
+            if (found != null) {
+                Protocol.writeInts(out, found);
+            }
+        }
+    }
+
+    /**
+     * Condensation edges of the owned sources, like {@link org.example.graph.scc.Condensation#build}
+     * on this slice: grouped by source component with a stable counting sort,
+     * so each group stays in source vertex order, and the first edge to each
+     * target component is kept.
+     */
+    private void condense(DataInputStream in, DataOutputStream out) throws IOException {
+        componentOf = Protocol.readInts(in);
+        int componentCount = in.readInt();
+
+        int[] start = new int[componentCount + 1];
+        int crossing = 0;
+        for (int i = 0; i < owned; i++) {
+            int c = componentOf[first + i];
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                if (componentOf[targets[e]] != c) {
+                    start[c + 1]++;
+                    crossing++;
+                }
+            }
+        }
+        for (int c = 0; c < componentCount; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] grouped = new int[crossing];
+        for (int i = 0; i < owned; i++) {
+            int c = componentOf[first + i];
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                if (componentOf[targets[e]] != c) {
+                    grouped[start[c]++] = e;
+                }
+            }
+        }
+
+        // start[c] now holds the end of group c
+        int[] sources = new int[crossing];
+        int[] dests = new int[crossing];
+        int[] edgeWeights = new int[crossing];
+        int[] lastSource = new int[componentCount];
+        Arrays.fill(lastSource, -1);
+        int m = 0;
+        int k = 0;
+        for (int c = 0; c < componentCount; c++) {
+            for (; k < start[c]; k++) {
+                int e = grouped[k];
+                int d = componentOf[targets[e]];
+                if (lastSource[d] == c) continue;
+                lastSource[d] = c;
+                sources[m] = c;
+                dests[m] = d;
+                edgeWeights[m++] = weights[e];
+            }
+        }
+        Protocol.writeInts(out, sources, m);
+        Protocol.writeInts(out, dests, m);
+        Protocol.writeInts(out, edgeWeights, m);
+    }
+
+    private void internalEdges(DataOutputStream out) throws IOException {
+        int[] degree = new int[owned];
+        int count = 0;
+        for (int i = 0; i < owned; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                if (componentOf[targets[e]] == componentOf[first + i]) degree[i]++;
+            }
+            count += degree[i];
+        }
+        int[] dests = new int[count];
+        int[] edgeWeights = new int[count];
+        count = 0;
+        for (int i = 0; i < owned; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                if (componentOf[targets[e]] == componentOf[first + i]) {
+                    dests[count] = targets[e];
+                    edgeWeights[count++] = weights[e];
+                }
+            }
+        }
+        Protocol.writeInts(out, degree);
+        Protocol.writeInts(out, dests);
+        Protocol.writeInts(out, edgeWeights);
+    }
+}
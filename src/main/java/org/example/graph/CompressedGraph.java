@@ -0,0 +1,191 @@
+package org.example.graph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable graph with gap-compressed adjacency lists.
+ * Each vertex's out-edges are sorted by target and stored in one byte stream
+ * as varints: the degree, the first target as a zigzag delta from the vertex
+ * itself, then for every edge the gap to the previous target followed by the
+ * zigzag-encoded weight. A per-vertex offset index gives O(1) access to the
+ * start of each list.
+ * Sorted neighbor lists with local targets mostly need one byte per gap, so a
+ * typical edge costs 2-3 bytes instead of the ~32 of a {@code Graph.Edge}.
+ * Note that neighbors come back in target order, not insertion order.
+ */
+public class CompressedGraph implements GraphView {
+
+    private final int n;
+    private final long m;
+    private final int[] offsets;
+    private final byte[] data;
+
+    private CompressedGraph(int n, long m, int[] offsets, byte[] data) {
+        this.n = n;
+        this.m = m;
+        this.offsets = offsets;
+        this.data = data;
+    }
+
+    /**
+     * Encodes any graph layout.
+     */
+    public static CompressedGraph compress(GraphView graph) {
+        int n = graph.getVertexCount();
+        int[] offsets = new int[n + 1];
+        Encoder out = new Encoder(n + 3 * (int) Math.min(graph.getEdgeCount(), Integer.MAX_VALUE / 4));
+        long[] packed = new long[16];
+
+        EdgeCursor it = graph.cursor();
+        for (int u = 0; u < n; u++) {
+            offsets[u] = out.size;
+
+            // Sort by target; the weight rides along in the low half
+            int degree = 0;
+            it.reset(u);
+            while (it.next()) {
+                if (degree == packed.length) packed = Arrays.copyOf(packed, 2 * degree);
+                packed[degree++] = ((long) it.target() << 32) | (it.weight() & 0xFFFFFFFFL);
+            }
+            Arrays.sort(packed, 0, degree);
+
+            out.writeVarint(degree);
+            if (degree == 0) continue;
+
+            int previous = (int) (packed[0] >>> 32);
+            out.writeVarint(zigzag(previous - u));
+            for (int i = 0; i < degree; i++) {
+                int target = (int) (packed[i] >>> 32);
+                out.writeVarint(target - previous);
+                out.writeVarint(zigzag((int) packed[i]));
+                previous = target;
+            }
+        }
+        offsets[n] = out.size;
+
+        return new CompressedGraph(n, graph.getEdgeCount(), offsets, Arrays.copyOf(out.buffer, out.size));
+    }
+
+    @Override
+    public int getVertexCount() {
+        return n;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return m;
+    }
+
+    @Override
+    public int getOutDegree(int u) {
+        int pos = offsets[u];
+        int b = data[pos++];
+        if (b >= 0) return b;
+        int value = b & 0x7F;
+        int shift = 7;
+        do {
+            b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    @Override
+    public EdgeCursor cursor() {
+        return new Cursor();
+    }
+
+    /** Size of the adjacency byte stream. */
+    public long getEncodedBytes() {
+        return data.length;
+    }
+
+    /** Size of the per-vertex offset index. */
+    public long getIndexBytes() {
+        return 4L * offsets.length;
+    }
+
+    /** Bits per edge of the byte stream plus the offset index. */
+    public double getBitsPerEdge() {
+        return m == 0 ? 0 : 8.0 * (getEncodedBytes() + getIndexBytes()) / m;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private int pos;
+        private int remaining;
+        private int target;
+        private int weight;
+
+        @Override
+        public void reset(int u) {
+            pos = offsets[u];
+            remaining = readVarint();
+            target = remaining == 0 ? u : u + unzigzag(readVarint());
+        }
+
+        @Override
+        public boolean next() {
+            if (remaining == 0) return false;
+            remaining--;
+            target += readVarint();
+            weight = unzigzag(readVarint());
+            return true;
+        }
+
+        @Override
+        public int target() {
+            return target;
+        }
+
+        @Override
+        public int weight() {
+            return weight;
+        }
+
+        private int readVarint() {
+            // Gaps and small weights fit in one byte: keep that path straight-line
+            int b = data[pos++];
+            if (b >= 0) return b;
+            int value = b & 0x7F;
+            int shift = 7;
+            do {
+                b = data[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    private static final class Encoder {
+        byte[] buffer;
+        int size;
+
+        Encoder(int capacity) {
+            buffer = new byte[Math.max(capacity, 16)];
+        }
+
+        void writeVarint(int value) {
+            if (buffer.length - size < 5) {
+                if (buffer.length == Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Compressed adjacency exceeds 2 GB");
+                }
+                buffer = Arrays.copyOf(buffer, (int) Math.min(2L * buffer.length, Integer.MAX_VALUE - 8));
+            }
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package org.example.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable graph in compressed sparse row form: the out-edges of u are
+ * targets[offsets[u] .. offsets[u + 1]) with matching weights.
+ * Three flat int arrays, about 8 bytes per edge plus 4 per vertex, and
+ * sequential memory access during edge scans.
+ */
+public class CsrGraph implements IndexedGraphView {
+
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    /**
+     * Wraps the arrays without copying.
+     * @param offsets n + 1 non-decreasing edge offsets, starting at 0
+     */
+    public CsrGraph(int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length == 0 || offsets[0] != 0) {
+            throw new IllegalArgumentException("offsets must have n + 1 entries starting at 0");
+        }
+        int m = offsets[offsets.length - 1];
+        if (targets.length < m || weights.length < m) {
+            throw new IllegalArgumentException("Edge arrays shorter than offsets[n] = " + m);
+        }
+        this.n = offsets.length - 1;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Copies any graph layout, keeping each vertex's edge order.
+     */
+    public static CsrGraph from(GraphView graph) {
+        int n = graph.getVertexCount();
+        long m = graph.getEdgeCount();
+        if (m > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges for a CSR graph: " + m);
+        }
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[(int) m];
+        int[] weights = new int[(int) m];
+
+        int e = 0;
+        EdgeCursor it = graph.cursor();
+        for (int u = 0; u < n; u++) {
+            it.reset(u);
+            while (it.next()) {
+                targets[e] = it.target();
+                weights[e++] = it.weight();
+            }
+            offsets[u + 1] = e;
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Reverse graph, built on the common pool.
+     * @see #transpose(ForkJoinPool)
+     */
+    public CsrGraph transpose() {
+        return transpose(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reverse graph by a parallel counting sort, without per-edge objects.
+     * Sources are split into ranges of roughly equal edge count; pass 1 counts
+     * in-degrees per range, a blocked prefix sum turns the counts into each
+     * range's first slot per vertex, and pass 2 scatters the edges. Reverse
+     * edges of a vertex come out in increasing source order, as with
+     * {@code Graph.getTranspose}.
+     */
+    public CsrGraph transpose(ForkJoinPool pool) {
+        int m = offsets[n];
+        int parts = Math.max(1, Math.min(n, pool.getParallelism()));
+        int[] partStart = new int[parts + 1];
+        for (int p = 1; p < parts; p++) {
+            partStart[p] = vertexAtEdge((int) ((long) p * m / parts));
+        }
+        partStart[parts] = n;
+
+        // Pass 1: in-degree counts per source range
+        int[][] counts = new int[parts][];
+        forEach(pool, parts, p -> {
+            int[] count = new int[n];
+            for (int e = offsets[partStart[p]]; e < offsets[partStart[p + 1]]; e++) {
+                count[targets[e]]++;
+            }
+            counts[p] = count;
+        });
+
+        // Prefix sum over vertices in blocks: block totals, a short serial scan, local scans
+        int blocks = Math.max(1, Math.min(n, 4 * pool.getParallelism()));
+        int[] blockOffset = new int[blocks + 1];
+        forEach(pool, blocks, b -> {
+            int total = 0;
+            for (int v = blockStart(b, blocks); v < blockStart(b + 1, blocks); v++) {
+                for (int[] count : counts) {
+                    total += count[v];
+                }
+            }
+            blockOffset[b + 1] = total;
+        });
+        for (int b = 0; b < blocks; b++) {
+            blockOffset[b + 1] += blockOffset[b];
+        }
+
+        int[] reverseOffsets = new int[n + 1];
+        forEach(pool, blocks, b -> {
+            int running = blockOffset[b];
+            for (int v = blockStart(b, blocks); v < blockStart(b + 1, blocks); v++) {
+                reverseOffsets[v] = running;
+                for (int[] count : counts) {
+                    int c = count[v];
+                    count[v] = running;
+                    running += c;
+                }
+            }
+        });
+        reverseOffsets[n] = m;
+
+        // Pass 2: scatter; every range owns its own slots of each vertex
+        int[] sources = new int[m];
+        int[] reverseWeights = new int[m];
+        forEach(pool, parts, p -> {
+            int[] next = counts[p];
+            for (int u = partStart[p]; u < partStart[p + 1]; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int slot = next[targets[e]]++;
+                    sources[slot] = u;
+                    reverseWeights[slot] = weights[e];
+                }
+            }
+        });
+
+        return new CsrGraph(reverseOffsets, sources, reverseWeights);
+    }
+
+    /**
+     * The same graph with vertex order[i] renamed to i. Each vertex keeps its
+     * edge order; targets are renamed through rank, the inverse of order.
+     * Rows are copied in parallel blocks.
+     */
+    public CsrGraph permute(int[] order, int[] rank, ForkJoinPool pool) {
+        if (order.length != n || rank.length != n) {
+            throw new IllegalArgumentException("Permutation of " + order.length + " vertices for a graph of " + n);
+        }
+        int[] newOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            newOffsets[i + 1] = newOffsets[i] + getOutDegree(order[i]);
+        }
+        int m = offsets[n];
+        int[] newTargets = new int[m];
+        int[] newWeights = new int[m];
+        int blocks = Math.max(1, Math.min(n, 4 * pool.getParallelism()));
+        forEach(pool, blocks, b -> {
+            for (int i = blockStart(b, blocks); i < blockStart(b + 1, blocks); i++) {
+                int from = offsets[order[i]];
+                int slot = newOffsets[i];
+                for (int e = from; e < offsets[order[i] + 1]; e++, slot++) {
+                    newTargets[slot] = rank[targets[e]];
+                    newWeights[slot] = weights[e];
+                }
+            }
+        });
+        return new CsrGraph(newOffsets, newTargets, newWeights);
+    }
+
+    /** Vertex whose edge range contains edge e (the first vertex for e = 0). */
+    private int vertexAtEdge(int e) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (offsets[mid + 1] <= e) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private int blockStart(int b, int blocks) {
+        return (int) ((long) b * n / blocks);
+    }
+
+    private static void forEach(ForkJoinPool pool, int count, IntConsumer body) {
+        if (count == 1) {
+            body.accept(0);
+        } else {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(body)).join();
+        }
+    }
+
+    @Override
+    public int getVertexCount() {
+        return n;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return offsets[n];
+    }
+
+    @Override
+    public int getOutDegree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    @Override
+    public int getTarget(int u, int i) {
+        return targets[offsets[u] + i];
+    }
+
+    @Override
+    public int getWeight(int u, int i) {
+        return weights[offsets[u] + i];
+    }
+
+    @Override
+    public EdgeCursor cursor() {
+        return new Cursor();
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private int edge;
+        private int end;
+
+        @Override
+        public void reset(int u) {
+            // Positioned one before the first edge so next() can pre-increment
+            edge = offsets[u] - 1;
+            end = offsets[u + 1];
+        }
+
+        @Override
+        public boolean next() {
+            return ++edge < end;
+        }
+
+        @Override
+        public int target() {
+            return targets[edge];
+        }
+
+        @Override
+        public int weight() {
+            return weights[edge];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.graph;
+
+/**
+ * Forward-only cursor over the out-edges of one vertex.
+ * Typical use:
+ * <pre>
+ * EdgeCursor it = graph.edges(u);
+ * while (it.next()) {
+ *     int v = it.target();
+ *     ...
+ * }
+ * </pre>
+ */
+public interface EdgeCursor {
+
+    /** Positions the cursor before the first out-edge of u. */
+    void reset(int u);
+
+    /** Advances to the next edge; returns false when the edges of the vertex are exhausted. */
+    boolean next();
+
+    int target();
+
+    int weight();
+}
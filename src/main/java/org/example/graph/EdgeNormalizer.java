@@ -0,0 +1,346 @@
+package org.example.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Turns a raw edge list into a clean {@link CsrGraph}. Edges with an endpoint
+ * outside [0, n) are dropped, as are self-loops unless they are kept on
+ * request. Parallel edges u->v are merged by a {@link DuplicatePolicy}. Every
+ * fix is counted in the {@link Result}, so the caller can report it.
+ * Duplicates are found by a parallel LSD radix sort of the edges packed as
+ * {@code u << bits | v} longs, with bits just wide enough for n. That takes
+ * one pass per 8 bits of key, and passes where all keys share the digit are
+ * skipped. The sort is stable, so the first edge of each run is the earliest
+ * in the input, and it keeps its place. The CSR is then built from the kept
+ * edges by a parallel counting sort on the source, like
+ * {@link CsrGraph#transpose}, so every vertex's edges stay in input order.
+ * With clean input the result equals adding the edges one by one.
+ * Working memory is about 24 bytes per edge on top of input and output.
+ */
+public class EdgeNormalizer {
+
+    public enum DuplicatePolicy {
+        /** Keep the first edge and its weight. */
+        FIRST,
+        MIN,
+        MAX,
+        /** Sum of the weights, clamped to the int range. */
+        SUM,
+        /** Keep parallel edges; skips the sort. */
+        KEEP
+    }
+
+    public static class Result {
+        public final CsrGraph graph;
+        public final int inputEdges;
+        /** Edges merged into an earlier edge with the same endpoints. */
+        public final int duplicates;
+        public final int selfLoops;
+        public final int outOfRange;
+        /** Input position of the first edge with an endpoint out of range, or -1. */
+        public final int firstOutOfRange;
+
+        Result(CsrGraph graph, int inputEdges, int duplicates, int selfLoops, int outOfRange, int firstOutOfRange) {
+            this.graph = graph;
+            this.inputEdges = inputEdges;
+            this.duplicates = duplicates;
+            this.selfLoops = selfLoops;
+            this.outOfRange = outOfRange;
+            this.firstOutOfRange = firstOutOfRange;
+        }
+
+        /** Whether the graph holds every input edge unchanged. */
+        public boolean isClean() {
+            return duplicates == 0 && selfLoops == 0 && outOfRange == 0;
+        }
+
+        @Override
+        public String toString() {
+            return inputEdges + " edges in, " + graph.getEdgeCount() + " out: " + duplicates + " duplicates merged, "
+                    + selfLoops + " self-loops dropped, " + outOfRange + " out of range dropped"
+                    + (firstOutOfRange == -1 ? "" : " (first at edge " + firstOutOfRange + ")");
+        }
+    }
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int MIN_BLOCK = 1 << 16;
+    private static final int BLOCKS_PER_THREAD = 4;
+
+    private final DuplicatePolicy duplicatePolicy;
+    private final boolean keepSelfLoops;
+    private final ForkJoinPool pool;
+
+    /**
+     * Keeps the first of parallel edges and drops self-loops, on the common pool.
+     */
+    public EdgeNormalizer() {
+        this(DuplicatePolicy.FIRST, false, ForkJoinPool.commonPool());
+    }
+
+    public EdgeNormalizer(DuplicatePolicy duplicatePolicy, boolean keepSelfLoops, ForkJoinPool pool) {
+        this.duplicatePolicy = duplicatePolicy;
+        this.keepSelfLoops = keepSelfLoops;
+        this.pool = pool;
+    }
+
+    /**
+     * @param n vertex count; ids must lie in [0, n)
+     * @param m number of edges, read from the first m entries of each array
+     */
+    public Result normalize(int n, int[] sources, int[] targets, int[] weights, int m) {
+        if (n < 0 || m < 0 || sources.length < m || targets.length < m || weights.length < m) {
+            throw new IllegalArgumentException("Edge arrays shorter than m = " + m + " or negative n = " + n);
+        }
+        int blocks = blockCount(m);
+
+        // 1. Keep flags for valid edges, counted per block
+        boolean[] keep = new boolean[m];
+        int[] kept = new int[blocks];
+        int[] loops = new int[blocks];
+        int[] invalid = new int[blocks];
+        int[] firstInvalid = new int[blocks];
+        forEach(blocks, b -> {
+            firstInvalid[b] = -1;
+            for (int i = blockStart(b, blocks, m); i < blockStart(b + 1, blocks, m); i++) {
+                int u = sources[i];
+                int v = targets[i];
+                if (u < 0 || u >= n || v < 0 || v >= n) {
+                    if (invalid[b]++ == 0) firstInvalid[b] = i;
+                } else if (u == v && !keepSelfLoops) {
+                    loops[b]++;
+                } else {
+                    keep[i] = true;
+                    kept[b]++;
+                }
+            }
+        });
+        int selfLoops = 0;
+        int outOfRange = 0;
+        int firstOutOfRange = -1;
+        for (int b = 0; b < blocks; b++) {
+            selfLoops += loops[b];
+            outOfRange += invalid[b];
+            if (firstOutOfRange == -1) firstOutOfRange = firstInvalid[b];
+        }
+
+        // 2. Merge duplicates into their first occurrence
+        int[] edgeWeights = weights;
+        int duplicates = 0;
+        if (duplicatePolicy != DuplicatePolicy.KEEP) {
+            if (duplicatePolicy != DuplicatePolicy.FIRST) {
+                edgeWeights = new int[m];
+            }
+            duplicates = mergeDuplicates(n, sources, targets, weights, keep, kept, blocks, m, edgeWeights);
+        }
+
+        // 3. CSR by a counting sort on the source, in input order
+        return new Result(buildCsr(n, sources, targets, edgeWeights, keep, m),
+                m, duplicates, selfLoops, outOfRange, firstOutOfRange);
+    }
+
+    /**
+     * Radix-sorts the kept edges by (u, v), then clears keep for every edge
+     * after the first of its run and stores the merged weight at the first.
+     * @return number of edges merged away
+     */
+    private int mergeDuplicates(int n, int[] sources, int[] targets, int[] weights, boolean[] keep,
+                                int[] kept, int blocks, int m, int[] merged) {
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1));
+        int[] keptStart = new int[blocks + 1];
+        for (int b = 0; b < blocks; b++) {
+            keptStart[b + 1] = keptStart[b] + kept[b];
+        }
+        int size = keptStart[blocks];
+
+        long[] keys = new long[size];
+        int[] index = new int[size];
+        forEach(blocks, b -> {
+            int k = keptStart[b];
+            for (int i = blockStart(b, blocks, m); i < blockStart(b + 1, blocks, m); i++) {
+                if (keep[i]) {
+                    keys[k] = (long) sources[i] << bits | targets[i];
+                    index[k++] = i;
+                }
+            }
+        });
+
+        radixSort(keys, index, 2 * bits);
+
+        // Runs of equal keys; each block starts at the first run that begins inside it
+        int runBlocks = blockCount(size);
+        int[] removed = new int[runBlocks];
+        forEach(runBlocks, b -> {
+            int from = blockStart(b, runBlocks, size);
+            int to = blockStart(b + 1, runBlocks, size);
+            while (from < to && from > 0 && keys[from] == keys[from - 1]) from++;
+            int k = from;
+            while (k < to) {
+                int first = index[k];
+                long weight = weights[first];
+                int end = k + 1;
+                while (end < size && keys[end] == keys[k]) {
+                    weight = combine(weight, weights[index[end]]);
+                    keep[index[end++]] = false;
+                }
+                if (merged != weights) {
+                    merged[first] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, weight));
+                }
+                removed[b] += end - k - 1;
+                k = end;
+            }
+        });
+        int total = 0;
+        for (int r : removed) {
+            total += r;
+        }
+        return total;
+    }
+
+    private long combine(long weight, int other) {
+        switch (duplicatePolicy) {
+            case MIN: return Math.min(weight, other);
+            case MAX: return Math.max(weight, other);
+            case SUM: return weight + other;
+            default: return weight;
+        }
+    }
+
+    /**
+     * Stable in-place LSD radix sort of keys below 2^keyBits, moving the index
+     * along. Every pass counts digits per block, turns the counts into each
+     * block's first slot per digit, and lets every block scatter into its own
+     * slots.
+     */
+    private void radixSort(long[] sortKeys, int[] sortIndex, int keyBits) {
+        long[] keys = sortKeys;
+        int[] index = sortIndex;
+        int size = keys.length;
+        long[] keyBuffer = new long[size];
+        int[] indexBuffer = new int[size];
+        int blocks = blockCount(size);
+        int[][] counts = new int[blocks][RADIX];
+
+        for (int shift = 0; shift < keyBits; shift += RADIX_BITS) {
+            int s = shift;
+            long[] from = keys;
+            int[] fromIndex = index;
+            forEach(blocks, b -> {
+                int[] count = counts[b];
+                Arrays.fill(count, 0);
+                for (int i = blockStart(b, blocks, size); i < blockStart(b + 1, blocks, size); i++) {
+                    count[(int) (from[i] >>> s) & (RADIX - 1)]++;
+                }
+            });
+
+            int running = 0;
+            boolean trivial = false;
+            for (int d = 0; d < RADIX; d++) {
+                int digitTotal = 0;
+                for (int b = 0; b < blocks; b++) {
+                    int c = counts[b][d];
+                    counts[b][d] = running;
+                    running += c;
+                    digitTotal += c;
+                }
+                trivial |= digitTotal == size;
+            }
+            if (trivial) continue;
+
+            long[] to = keyBuffer;
+            int[] toIndex = indexBuffer;
+            forEach(blocks, b -> {
+                int[] next = counts[b];
+                for (int i = blockStart(b, blocks, size); i < blockStart(b + 1, blocks, size); i++) {
+                    int slot = next[(int) (from[i] >>> s) & (RADIX - 1)]++;
+                    to[slot] = from[i];
+                    toIndex[slot] = fromIndex[i];
+                }
+            });
+            keyBuffer = keys;
+            indexBuffer = index;
+            keys = to;
+            index = toIndex;
+        }
+        if (keys != sortKeys) {
+            System.arraycopy(keys, 0, sortKeys, 0, size);
+            System.arraycopy(index, 0, sortIndex, 0, size);
+        }
+    }
+
+    private CsrGraph buildCsr(int n, int[] sources, int[] targets, int[] weights, boolean[] keep, int m) {
+        // One range of edges per thread, so count arrays cost n ints per thread
+        int parts = Math.max(1, Math.min(pool.getParallelism(), m / MIN_BLOCK));
+        int[][] counts = new int[parts][];
+        forEach(parts, p -> {
+            int[] count = new int[n];
+            for (int i = blockStart(p, parts, m); i < blockStart(p + 1, parts, m); i++) {
+                if (keep[i]) count[sources[i]]++;
+            }
+            counts[p] = count;
+        });
+
+        // Blocked prefix sum over vertices; counts[p][u] becomes range p's first slot for u
+        int blocks = Math.max(1, Math.min(n, BLOCKS_PER_THREAD * pool.getParallelism()));
+        int[] blockOffset = new int[blocks + 1];
+        forEach(blocks, b -> {
+            int total = 0;
+            for (int u = blockStart(b, blocks, n); u < blockStart(b + 1, blocks, n); u++) {
+                for (int[] count : counts) {
+                    total += count[u];
+                }
+            }
+            blockOffset[b + 1] = total;
+        });
+        for (int b = 0; b < blocks; b++) {
+            blockOffset[b + 1] += blockOffset[b];
+        }
+        int[] offsets = new int[n + 1];
+        forEach(blocks, b -> {
+            int running = blockOffset[b];
+            for (int u = blockStart(b, blocks, n); u < blockStart(b + 1, blocks, n); u++) {
+                offsets[u] = running;
+                for (int[] count : counts) {
+                    int c = count[u];
+                    count[u] = running;
+                    running += c;
+                }
+            }
+        });
+        int size = blockOffset[blocks];
+        offsets[n] = size;
+
+        int[] csrTargets = new int[size];
+        int[] csrWeights = new int[size];
+        forEach(parts, p -> {
+            int[] next = counts[p];
+            for (int i = blockStart(p, parts, m); i < blockStart(p + 1, parts, m); i++) {
+                if (keep[i]) {
+                    int slot = next[sources[i]]++;
+                    csrTargets[slot] = targets[i];
+                    csrWeights[slot] = weights[i];
+                }
+            }
+        });
+        return new CsrGraph(offsets, csrTargets, csrWeights);
+    }
+
+    private int blockCount(int size) {
+        return Math.max(1, Math.min(pool.getParallelism() * BLOCKS_PER_THREAD, size / MIN_BLOCK));
+    }
+
+    private static int blockStart(int b, int blocks, int size) {
+        return (int) ((long) b * size / blocks);
+    }
+
+    private void forEach(int count, IntConsumer body) {
+        if (count == 1) {
+            body.accept(0);
+        } else if (count > 1) {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(body)).join();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.graph;
+
+/**
+ * Read-only view of a directed weighted graph.
+ * Implemented by every adjacency layout so the algorithms can run on any of them.
+ */
+public interface GraphView {
+
+    int getVertexCount();
+
+    long getEdgeCount();
+
+    int getOutDegree(int u);
+
+    /**
+     * Creates a cursor that must be positioned with {@link EdgeCursor#reset}
+     * before use. Loops over many vertices should reuse one cursor.
+     */
+    EdgeCursor cursor();
+
+    /**
+     * Opens a cursor over the out-edges of u.
+     */
+    default EdgeCursor edges(int u) {
+        EdgeCursor cursor = cursor();
+        cursor.reset(u);
+        return cursor;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.graph;
+
+/**
+ * Graph view with constant-time access to the i-th out-edge of a vertex.
+ * Lets iterative algorithms keep a plain int per stack frame instead of a cursor.
+ */
+public interface IndexedGraphView extends GraphView {
+
+    /** Target of the i-th out-edge of u, 0 &lt;= i &lt; getOutDegree(u). */
+    int getTarget(int u, int i);
+
+    /** Weight of the i-th out-edge of u. */
+    int getWeight(int u, int i);
+}
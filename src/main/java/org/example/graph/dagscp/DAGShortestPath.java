@@ -1,7 +1,10 @@
 package org.example.graph.dagscp;
 
-import org.example.Graph;
 import org.example.Metrics;
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+import org.example.graph.workspace.EpochArray;
+import org.example.graph.workspace.Workspace;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,7 +13,7 @@ import java.util.List;
 
 public class DAGShortestPath {
 
-    private final Graph graph;
+    private final GraphView graph;
     private final Metrics metrics;
 
     public static class PathResult {
@@ -45,7 +48,43 @@ public class DAGShortestPath {
         }
     }
 
-    public DAGShortestPath(Graph graph, Metrics metrics) {
+    /**
+     * Distances and parents of a workspace query, read from the workspace's
+     * epoch arrays: valid until the next call on the same workspace.
+     */
+    public static final class PathView {
+        private final EpochArray distances;
+        private final EpochArray parents;
+        public final int source;
+
+        PathView(EpochArray distances, EpochArray parents, int source) {
+            this.distances = distances;
+            this.parents = parents;
+            this.source = source;
+        }
+
+        /** Distance from the source, or Integer.MAX_VALUE if unreachable. */
+        public int distance(int v) {
+            return distances.get(v);
+        }
+
+        public int parent(int v) {
+            return parents.get(v);
+        }
+
+        /** Copies the view into a result that outlives the workspace. */
+        public PathResult toPathResult(int n) {
+            int[] dist = new int[n];
+            int[] parent = new int[n];
+            for (int v = 0; v < n; v++) {
+                dist[v] = distances.get(v);
+                parent[v] = parents.get(v);
+            }
+            return new PathResult(dist, parent, source);
+        }
+    }
+
+    public DAGShortestPath(GraphView graph, Metrics metrics) {
         this.graph = graph;
         this.metrics = metrics;
     }
@@ -65,6 +104,8 @@ public class DAGShortestPath {
         Arrays.fill(parent, -1);
         dist[source] = 0;
 
+        EdgeCursor it = graph.cursor();
+
         metrics.startTimer();
 
         // Process vertices in topological order
@@ -75,10 +116,11 @@ public class DAGShortestPath {
             if (!afterSource || dist[u] == Integer.MAX_VALUE) continue;
 
             // Relax edges
-            for (Graph.Edge edge : graph.getNeighbors(u)) {
-                int v = edge.to;
-                if (dist[u] != Integer.MAX_VALUE && dist[u] + edge.weight < dist[v]) {
-                    dist[v] = dist[u] + edge.weight;
+            it.reset(u);
+            while (it.next()) {
+                int v = it.target();
+                if (dist[u] != Integer.MAX_VALUE && dist[u] + it.weight() < dist[v]) {
+                    dist[v] = dist[u] + it.weight();
                     parent[v] = u;
                     metrics.incrementRelaxations();
                 }
@@ -90,6 +132,60 @@ public class DAGShortestPath {
         return new PathResult(dist, parent, source);
     }
 
+    /**
+     * {@link #shortestPaths(List, int)} on borrowed memory (epoch arrays 0-1
+     * and a cached cursor); allocates only the returned view, plus a new
+     * cursor if a collection cleared the cached one.
+     * @param topoOrder topological order in the first n entries, e.g. from
+     *                  {@link org.example.graph.topo.TopologicalSort#sortKahn(Workspace, int[])}
+     * @param count number of ordered vertices, as sortKahn returns it; less
+     *              than n means the graph has a cycle
+     * @throws IllegalArgumentException if the order does not cover the graph
+     *                                  or does not contain the source
+     */
+    public PathView shortestPaths(int[] topoOrder, int count, int source, Workspace workspace) {
+        int n = graph.getVertexCount();
+        if (count != n || topoOrder.length < n) {
+            throw new IllegalArgumentException("Order covers " + count + " of " + n + " vertices; the graph has a cycle");
+        }
+        // Vertices before the source in the order are unreachable from it
+        int start = 0;
+        while (start < n && topoOrder[start] != source) start++;
+        if (start == n) {
+            throw new IllegalArgumentException("Source " + source + " is not in the order");
+        }
+
+        EpochArray dist = workspace.epochArray(0);
+        EpochArray parent = workspace.epochArray(1);
+        dist.begin(n, Integer.MAX_VALUE);
+        parent.begin(n, -1);
+        dist.set(source, 0);
+
+        EdgeCursor it = workspace.cursor(graph);
+
+        metrics.startTimer();
+
+        for (int i = start; i < n; i++) {
+            int u = topoOrder[i];
+            int du = dist.get(u);
+            if (du == Integer.MAX_VALUE) continue;
+
+            it.reset(u);
+            while (it.next()) {
+                int v = it.target();
+                if (du + it.weight() < dist.get(v)) {
+                    dist.set(v, du + it.weight());
+                    parent.set(v, u);
+                    metrics.incrementRelaxations();
+                }
+            }
+        }
+
+        metrics.stopTimer();
+
+        return new PathView(dist, parent, source);
+    }
+
     /**
      * Computes longest paths (critical path) using topological ordering.
      * Uses negation approach or max-based DP.
@@ -106,6 +202,8 @@ public class DAGShortestPath {
         Arrays.fill(parent, -1);
         dist[source] = 0;
 
+        EdgeCursor it = graph.cursor();
+
         metrics.startTimer();
 
         // Process vertices in topological order
@@ -116,10 +214,11 @@ public class DAGShortestPath {
             if (!afterSource || dist[u] == Integer.MIN_VALUE) continue;
 
             // Relax edges for maximum distance
-            for (Graph.Edge edge : graph.getNeighbors(u)) {
-                int v = edge.to;
-                if (dist[u] != Integer.MIN_VALUE && dist[u] + edge.weight > dist[v]) {
-                    dist[v] = dist[u] + edge.weight;
+            it.reset(u);
+            while (it.next()) {
+                int v = it.target();
+                if (dist[u] != Integer.MIN_VALUE && dist[u] + it.weight() > dist[v]) {
+                    dist[v] = dist[u] + it.weight();
                     parent[v] = u;
                     metrics.incrementRelaxations();
                 }
@@ -145,14 +244,17 @@ public class DAGShortestPath {
         Arrays.fill(dist, 0);
         Arrays.fill(parent, -1);
 
+        EdgeCursor it = graph.cursor();
+
         metrics.startTimer();
 
         // Process all vertices in topological order
         for (int u : topoOrder) {
-            for (Graph.Edge edge : graph.getNeighbors(u)) {
-                int v = edge.to;
-                if (dist[u] + edge.weight > dist[v]) {
-                    dist[v] = dist[u] + edge.weight;
+            it.reset(u);
+            while (it.next()) {
+                int v = it.target();
+                if (dist[u] + it.weight() > dist[v]) {
+                    dist[v] = dist[u] + it.weight();
                     parent[v] = u;
                     metrics.incrementRelaxations();
                 }
@@ -173,4 +275,36 @@ public class DAGShortestPath {
 
         return new PathResult(dist, parent, endVertex);
     }
+
+    /**
+     * Bottom level of every vertex: its own duration plus the longest chain of
+     * durations on any path leaving it. Edge weights are not used.
+     * Sums are kept in longs, since they can exceed int range on large graphs.
+     * @param topoOrder topological order
+     * @param durations duration of every vertex
+     */
+    public long[] bottomLevels(List<Integer> topoOrder, int[] durations) {
+        int n = graph.getVertexCount();
+        long[] level = new long[n];
+
+        EdgeCursor it = graph.cursor();
+
+        metrics.startTimer();
+
+        // Successors come later in the order, so walk it backwards
+        for (int i = topoOrder.size() - 1; i >= 0; i--) {
+            int u = topoOrder.get(i);
+            long longest = 0;
+            it.reset(u);
+            while (it.next()) {
+                longest = Math.max(longest, level[it.target()]);
+                metrics.incrementRelaxations();
+            }
+            level[u] = durations[u] + longest;
+        }
+
+        metrics.stopTimer();
+
+        return level;
+    }
 }
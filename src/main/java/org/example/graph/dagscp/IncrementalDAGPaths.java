@@ -0,0 +1,189 @@
+package org.example.graph.dagscp;
+
+import org.example.Graph;
+import org.example.Metrics;
+
+/**
+ * Keeps a {@link DAGShortestPath.PathResult} up to date while edge weights change.
+ * After a weight update only the vertices downstream of the changed edge are
+ * re-relaxed: they are pulled from a min-heap of topological positions, so each
+ * vertex is recomputed at most once per update and only after all of its
+ * predecessors, and propagation stops as soon as distances stabilize.
+ * Results (distances and parents) are identical to a full recomputation.
+ */
+public class IncrementalDAGPaths {
+
+    private final Graph graph;
+    private final PredecessorIndex index;
+    private final PathMode mode;
+    private final Metrics metrics;
+    private final int source;
+
+    private final int[] dist;
+    private final int[] parent;
+
+    // Min-heap of topological positions awaiting recomputation
+    private final int[] heap;
+    private int heapSize;
+    private final boolean[] queued;
+
+    // Critical path end vertex, maintained without rescanning when possible
+    private int endVertex;
+    private int maxDist;
+
+    /**
+     * @param graph graph the cached result was computed on; updates are applied to it
+     * @param index predecessor index built from the same graph and topological order
+     * @param cached result of the matching full computation
+     * @param mode which computation produced {@code cached}
+     * @param metrics metrics for the incremental updates
+     */
+    public IncrementalDAGPaths(Graph graph, PredecessorIndex index, DAGShortestPath.PathResult cached,
+                               PathMode mode, Metrics metrics) {
+        int n = graph.getVertexCount();
+        if (index.getVertexCount() != n || cached.distances.length != n) {
+            throw new IllegalArgumentException("Graph, index and cached result sizes differ");
+        }
+
+        this.graph = graph;
+        this.index = index;
+        this.mode = mode;
+        this.metrics = metrics;
+        this.source = mode == PathMode.CRITICAL ? -1 : cached.source;
+        this.dist = cached.distances.clone();
+        this.parent = cached.parent.clone();
+        this.heap = new int[n];
+        this.queued = new boolean[n];
+
+        if (mode == PathMode.CRITICAL) {
+            rescanEndVertex();
+        }
+    }
+
+    /**
+     * Current result; its arrays reflect all updates applied so far.
+     */
+    public DAGShortestPath.PathResult current() {
+        return new DAGShortestPath.PathResult(dist, parent, mode == PathMode.CRITICAL ? endVertex : source);
+    }
+
+    /**
+     * Changes the weight of every u->v edge and repairs the affected distances.
+     * @return number of vertices whose distance changed
+     */
+    public int updateEdgeWeight(int u, int v, int weight) {
+        return updateEdgeWeights(new int[]{u}, new int[]{v}, new int[]{weight});
+    }
+
+    /**
+     * Applies a batch of weight changes and repairs distances in a single pass.
+     * @return number of vertices whose distance changed
+     */
+    public int updateEdgeWeights(int[] us, int[] vs, int[] weights) {
+        if (us.length != vs.length || us.length != weights.length) {
+            throw new IllegalArgumentException("Update arrays must have equal length");
+        }
+
+        for (int i = 0; i < us.length; i++) {
+            if (!index.containsEdge(us[i], vs[i])) {
+                throw new IllegalArgumentException("No edge " + us[i] + "->" + vs[i]);
+            }
+        }
+
+        metrics.startTimer();
+
+        for (int i = 0; i < us.length; i++) {
+            index.setWeight(us[i], vs[i], weights[i]);
+            graph.setEdgeWeight(us[i], vs[i], weights[i]);
+            enqueue(vs[i]);
+        }
+
+        int changed = 0;
+        boolean rescan = false;
+        while (heapSize > 0) {
+            int x = index.vertexAt(poll());
+            queued[x] = false;
+
+            int oldDist = dist[x];
+            if (!recompute(x)) continue;
+
+            changed++;
+            if (mode == PathMode.CRITICAL) {
+                if (x == endVertex && dist[x] < oldDist) {
+                    rescan = true;
+                } else if (dist[x] > maxDist || (dist[x] == maxDist && x < endVertex)) {
+                    endVertex = x;
+                    maxDist = dist[x];
+                }
+            }
+
+            for (Graph.Edge edge : graph.getNeighbors(x)) {
+                enqueue(edge.to);
+            }
+        }
+
+        if (rescan) {
+            rescanEndVertex();
+        }
+
+        metrics.stopTimer();
+        return changed;
+    }
+
+    /**
+     * Pulls x's distance from its predecessors.
+     * @return true if the distance changed (successors must be revisited)
+     */
+    private boolean recompute(int x) {
+        if (x == source) return false;
+
+        int oldDist = dist[x];
+        metrics.addRelaxations(index.pull(x, mode, dist, parent));
+        return dist[x] != oldDist;
+    }
+
+    private void rescanEndVertex() {
+        maxDist = Integer.MIN_VALUE;
+        endVertex = -1;
+        for (int i = 0; i < dist.length; i++) {
+            if (dist[i] > maxDist) {
+                maxDist = dist[i];
+                endVertex = i;
+            }
+        }
+    }
+
+    private void enqueue(int v) {
+        if (queued[v]) return;
+        queued[v] = true;
+        metrics.incrementPushes();
+
+        int i = heapSize++;
+        int pos = index.positionOf(v);
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heap[up] <= pos) break;
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = pos;
+    }
+
+    private int poll() {
+        metrics.incrementPops();
+        int top = heap[0];
+        int last = heap[--heapSize];
+
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
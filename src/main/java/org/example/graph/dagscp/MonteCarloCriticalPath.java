@@ -0,0 +1,184 @@
+package org.example.graph.dagscp;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Probabilistic critical-path analysis (Monte Carlo PERT).
+ * Every sample draws a duration for each task from {@link TaskDurations} and
+ * runs one critical-path sweep: in topological order, a task finishes at its
+ * duration plus the latest finish among its predecessors. Tasks on the path
+ * back from the last-finishing task are counted as critical. Edge weights of
+ * the DAG are not used; it only supplies the precedence constraints.
+ * Sweeps pull over a {@link PredecessorIndex}, so all samples share one
+ * topological order and one predecessor CSR. Samples are processed in blocks
+ * of {@link #BLOCK} on a ForkJoinPool; each block has its own
+ * SplittableRandom split from the seed, so results depend only on the seed,
+ * not on the number of threads. Working arrays are borrowed by each block
+ * from a per-run pool, so there are about as many as threads.
+ */
+public class MonteCarloCriticalPath {
+
+    /** Samples per random stream. */
+    static final int BLOCK = 64;
+
+    private final PredecessorIndex index;
+    private final TaskDurations durations;
+    private final ForkJoinPool pool;
+
+    public static class Result {
+        public final int samples;
+        /** Project completion time of every sample, in ascending order. */
+        public final double[] completionTimes;
+        /** Fraction of samples in which each task lies on the critical path. */
+        public final double[] criticality;
+
+        public Result(double[] completionTimes, double[] criticality) {
+            this.samples = completionTimes.length;
+            this.completionTimes = completionTimes;
+            this.criticality = criticality;
+        }
+
+        /**
+         * Nearest-rank percentile of the completion time.
+         * @param p percentile in [0, 100]
+         */
+        public double percentile(double p) {
+            if (p < 0 || p > 100) {
+                throw new IllegalArgumentException("Percentile must be in [0, 100]: " + p);
+            }
+            int rank = (int) Math.ceil(p / 100 * samples);
+            return completionTimes[Math.max(0, rank - 1)];
+        }
+
+        public double mean() {
+            double sum = 0;
+            for (double t : completionTimes) {
+                sum += t;
+            }
+            return sum / samples;
+        }
+    }
+
+    public MonteCarloCriticalPath(PredecessorIndex index, TaskDurations durations) {
+        this(index, durations, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloCriticalPath(PredecessorIndex index, TaskDurations durations, ForkJoinPool pool) {
+        if (durations.getTaskCount() != index.getVertexCount()) {
+            throw new IllegalArgumentException("Durations for " + durations.getTaskCount()
+                    + " tasks, graph has " + index.getVertexCount());
+        }
+        this.index = index;
+        this.durations = durations;
+        this.pool = pool;
+    }
+
+    public Result run(int samples, long seed) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Need at least one sample: " + samples);
+        }
+        int blocks = (samples + BLOCK - 1) / BLOCK;
+        SplittableRandom master = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) {
+            streams[b] = master.split();
+        }
+
+        double[] completionTimes = new double[samples];
+        // Blocks borrow a free workspace and return it, so there are at most
+        // as many as blocks running at once, and none outlives this run
+        Queue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+        Queue<Workspace> free = new ConcurrentLinkedQueue<>();
+
+        pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b -> {
+            Workspace workspace = free.poll();
+            if (workspace == null) {
+                workspace = new Workspace(index.getVertexCount());
+                workspaces.add(workspace);
+            }
+            int end = Math.min(samples, (b + 1) * BLOCK);
+            for (int s = b * BLOCK; s < end; s++) {
+                completionTimes[s] = sweep(workspace, streams[b]);
+            }
+            free.add(workspace);
+        })).join();
+
+        int n = index.getVertexCount();
+        double[] criticality = new double[n];
+        for (Workspace workspace : workspaces) {
+            for (int v = 0; v < n; v++) {
+                criticality[v] += workspace.critical[v];
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            criticality[v] /= samples;
+        }
+
+        Arrays.sort(completionTimes);
+        return new Result(completionTimes, criticality);
+    }
+
+    /**
+     * One sample: sampled durations, forward pass, critical path tally.
+     * @return project completion time
+     */
+    private double sweep(Workspace workspace, SplittableRandom random) {
+        double[] start = workspace.start;
+        double[] finish = workspace.finish;
+        int n = index.getVertexCount();
+        if (n == 0) {
+            return 0;
+        }
+
+        // Durations are non-negative, so a max over predecessors without a branch suffices
+        int last = -1;
+        double latest = -1;
+        for (int pos = 0; pos < n; pos++) {
+            int x = index.vertexAt(pos);
+            double begin = 0;
+            for (int slot = index.predecessorStart(x); slot < index.predecessorEnd(x); slot++) {
+                begin = Math.max(begin, finish[index.predecessorAt(slot)]);
+            }
+            start[x] = begin;
+            finish[x] = begin + durations.sample(x, random);
+            if (finish[x] > latest) {
+                latest = finish[x];
+                last = x;
+            }
+        }
+
+        // Walk back through the first predecessor that finishes exactly when v starts
+        for (int v = last; v != -1; ) {
+            workspace.critical[v]++;
+            int parent = -1;
+            for (int slot = index.predecessorStart(v); slot < index.predecessorEnd(v); slot++) {
+                if (finish[index.predecessorAt(slot)] == start[v]) {
+                    parent = index.predecessorAt(slot);
+                    break;
+                }
+            }
+            v = parent;
+        }
+        return latest;
+    }
+
+    /**
+     * Arrays for one block at a time, reused by later blocks of the same run.
+     */
+    private static class Workspace {
+        final double[] start;
+        final double[] finish;
+        final int[] critical;
+
+        Workspace(int n) {
+            start = new double[n];
+            finish = new double[n];
+            critical = new int[n];
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.graph.dagscp;
+
+import org.example.Metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Level-synchronous (wavefront) variant of {@link DAGShortestPath}.
+ * Vertices are grouped by depth (longest edge count from any source); all
+ * vertices of a level depend only on earlier levels, so each level is relaxed
+ * concurrently on a ForkJoinPool. Relaxation is pull-based over a
+ * {@link PredecessorIndex}: every task writes only the vertices it owns, so no
+ * atomics are needed on dist, and distances and parents are identical to the
+ * sequential code.
+ */
+public class ParallelDAGShortestPath {
+
+    // Levels smaller than this are relaxed on the calling thread
+    private static final int GRAIN = 2048;
+
+    private final PredecessorIndex index;
+    private final ForkJoinPool pool;
+    private final Metrics metrics;
+
+    private final int[] levelStart;
+    private final int[] levelVertices;
+
+    public ParallelDAGShortestPath(PredecessorIndex index, Metrics metrics) {
+        this(index, ForkJoinPool.commonPool(), metrics);
+    }
+
+    public ParallelDAGShortestPath(PredecessorIndex index, ForkJoinPool pool, Metrics metrics) {
+        this.index = index;
+        this.pool = pool;
+        this.metrics = metrics;
+
+        int n = index.getVertexCount();
+        int[] level = new int[n];
+        int levels = n == 0 ? 0 : 1;
+        for (int pos = 0; pos < n; pos++) {
+            int x = index.vertexAt(pos);
+            int lvl = 0;
+            for (int slot = index.predecessorStart(x); slot < index.predecessorEnd(x); slot++) {
+                lvl = Math.max(lvl, level[index.predecessorAt(slot)] + 1);
+            }
+            level[x] = lvl;
+            levels = Math.max(levels, lvl + 1);
+        }
+
+        // Bucket vertices by level, keeping topological order inside a level
+        levelStart = new int[levels + 1];
+        for (int v = 0; v < n; v++) {
+            levelStart[level[v] + 1]++;
+        }
+        for (int l = 0; l < levels; l++) {
+            levelStart[l + 1] += levelStart[l];
+        }
+        levelVertices = new int[n];
+        int[] next = Arrays.copyOf(levelStart, levels);
+        for (int pos = 0; pos < n; pos++) {
+            int x = index.vertexAt(pos);
+            levelVertices[next[level[x]]++] = x;
+        }
+    }
+
+    public int getLevelCount() {
+        return levelStart.length - 1;
+    }
+
+    /** Vertices in the widest level. */
+    public int getMaxLevelWidth() {
+        int width = 0;
+        for (int l = 0; l + 1 < levelStart.length; l++) {
+            width = Math.max(width, levelStart[l + 1] - levelStart[l]);
+        }
+        return width;
+    }
+
+    /**
+     * Parallel counterpart of {@link DAGShortestPath#shortestPaths}.
+     */
+    public DAGShortestPath.PathResult shortestPaths(int source) {
+        return run(PathMode.SHORTEST, source, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parallel counterpart of {@link DAGShortestPath#longestPaths}.
+     */
+    public DAGShortestPath.PathResult longestPaths(int source) {
+        return run(PathMode.LONGEST, source, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Parallel counterpart of {@link DAGShortestPath#findCriticalPath}.
+     */
+    public DAGShortestPath.PathResult findCriticalPath() {
+        DAGShortestPath.PathResult result = run(PathMode.CRITICAL, -1, 0);
+
+        int maxDist = Integer.MIN_VALUE;
+        int endVertex = -1;
+        for (int i = 0; i < result.distances.length; i++) {
+            if (result.distances[i] > maxDist) {
+                maxDist = result.distances[i];
+                endVertex = i;
+            }
+        }
+        return new DAGShortestPath.PathResult(result.distances, result.parent, endVertex);
+    }
+
+    private DAGShortestPath.PathResult run(PathMode mode, int source, int initial) {
+        int n = index.getVertexCount();
+        int[] dist = new int[n];
+        int[] parent = new int[n];
+
+        Arrays.fill(dist, initial);
+        Arrays.fill(parent, -1);
+        if (source != -1) {
+            dist[source] = 0;
+        }
+
+        metrics.startTimer();
+
+        int relaxations = 0;
+        for (int l = 0; l + 1 < levelStart.length; l++) {
+            LevelTask task = new LevelTask(mode, source, dist, parent, levelStart[l], levelStart[l + 1]);
+            relaxations += levelStart[l + 1] - levelStart[l] < 2 * GRAIN ? task.compute() : pool.invoke(task);
+        }
+
+        metrics.stopTimer();
+        metrics.addRelaxations(relaxations);
+
+        return new DAGShortestPath.PathResult(dist, parent, source);
+    }
+
+    private class LevelTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final PathMode mode;
+        private final int source;
+        private final int[] dist;
+        private final int[] parent;
+        private final int from;
+        private final int to;
+
+        LevelTask(PathMode mode, int source, int[] dist, int[] parent, int from, int to) {
+            this.mode = mode;
+            this.source = source;
+            this.dist = dist;
+            this.parent = parent;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                LevelTask left = new LevelTask(mode, source, dist, parent, from, mid);
+                LevelTask right = new LevelTask(mode, source, dist, parent, mid, to);
+                left.fork();
+                return right.compute() + left.join();
+            }
+
+            int relaxations = 0;
+            for (int i = from; i < to; i++) {
+                int x = levelVertices[i];
+                if (x == source) continue;
+                relaxations += index.pull(x, mode, dist, parent);
+            }
+            return relaxations;
+        }
+    }
+}
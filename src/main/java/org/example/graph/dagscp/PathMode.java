@@ -0,0 +1,13 @@
+package org.example.graph.dagscp;
+
+/**
+ * Which of the {@link DAGShortestPath} dynamic programs a result belongs to.
+ */
+public enum PathMode {
+    /** Same semantics as {@link DAGShortestPath#shortestPaths}. */
+    SHORTEST,
+    /** Same semantics as {@link DAGShortestPath#longestPaths}. */
+    LONGEST,
+    /** Same semantics as {@link DAGShortestPath#findCriticalPath}. */
+    CRITICAL
+}
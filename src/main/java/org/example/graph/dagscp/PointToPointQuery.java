@@ -0,0 +1,180 @@
+package org.example.graph.dagscp;
+
+import org.example.Metrics;
+import org.example.graph.workspace.EpochArray;
+import org.example.graph.workspace.Workspace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single source-to-target shortest path queries on a DAG that only touch the
+ * vertices that can matter. A full sweep relaxes every vertex after the
+ * source in topological order; a path to the target can only use vertices
+ * that are both after the source and ancestors of the target. A query first
+ * walks the predecessor lists back from the target, never past the source's
+ * topological position, and stops right there if the source is not reached.
+ * It then pulls distances for the marked vertices in topological order and
+ * stops at the target, which comes last. If the marking grows beyond a
+ * quarter of the slice between source and target, the query falls back to
+ * pulling every vertex of that slice, which still ends at the target.
+ * Predecessors are pulled in the index's order, so distances and the path
+ * are the same as from {@link DAGShortestPath#shortestPaths}.
+ * Per-query state is borrowed from a {@link Workspace} (epoch arrays 0-2,
+ * buffer 0), so a query costs time and no memory proportional to what it
+ * explores, not to the graph size.
+ */
+public class PointToPointQuery {
+
+    // Above one marked vertex per this many slice positions, scanning the slice beats sorting them
+    private static final int SCAN_RATIO = 16;
+    // Above one marked vertex per this many slice positions, the query sweeps the whole slice
+    private static final int SWEEP_RATIO = 4;
+
+    public static class Result {
+        public final int source;
+        public final int target;
+        /** Path length, or Integer.MAX_VALUE if the target is unreachable. */
+        public final int distance;
+        /** Vertices from source to target, or null if unreachable. */
+        public final List<Integer> path;
+        /** Vertices the query considered: marked ancestors, or the whole slice after a fallback. */
+        public final int explored;
+
+        public Result(int source, int target, int distance, List<Integer> path, int explored) {
+            this.source = source;
+            this.target = target;
+            this.distance = distance;
+            this.path = path;
+            this.explored = explored;
+        }
+
+        public boolean isReachable() {
+            return path != null;
+        }
+    }
+
+    private final PredecessorIndex index;
+    private final Metrics metrics;
+
+    /**
+     * @param index predecessor index of the DAG; it carries the topological order
+     */
+    public PointToPointQuery(PredecessorIndex index, Metrics metrics) {
+        this.index = index;
+        this.metrics = metrics;
+    }
+
+    public Result query(int source, int target) {
+        return query(source, target, Workspace.current());
+    }
+
+    public Result query(int source, int target, Workspace workspace) {
+        int n = index.getVertexCount();
+        if (source < 0 || source >= n || target < 0 || target >= n) {
+            throw new IllegalArgumentException("Vertex out of range: " + source + " -> " + target);
+        }
+        int first = index.positionOf(source);
+        int last = index.positionOf(target);
+        if (first > last) {
+            return new Result(source, target, Integer.MAX_VALUE, null, 0);
+        }
+
+        metrics.startTimer();
+
+        // Backward marking; the buffer is both the worklist and the list of marked vertices.
+        // Once the ancestors are a large part of the slice, pruning no longer pays
+        // for the second pass over their edges, so the whole slice is swept instead.
+        int slice = last - first + 1;
+        int limit = slice / SWEEP_RATIO;
+        EpochArray marked = workspace.epochArray(0);
+        marked.begin(n, 0);
+        int[] ancestors = workspace.buffer(0, n);
+        int count = 0;
+        boolean sweep = false;
+        marked.set(target, 1);
+        ancestors[count++] = target;
+        for (int head = 0; head < count && !sweep; head++) {
+            int v = ancestors[head];
+            if (v == source) continue;
+            for (int slot = index.predecessorStart(v); slot < index.predecessorEnd(v); slot++) {
+                int u = index.predecessorAt(slot);
+                if (!marked.isSet(u) && index.positionOf(u) >= first) {
+                    marked.set(u, 1);
+                    ancestors[count++] = u;
+                }
+            }
+            sweep = count > limit;
+        }
+        if (!sweep && !marked.isSet(source)) {
+            metrics.stopTimer();
+            return new Result(source, target, Integer.MAX_VALUE, null, count);
+        }
+
+        // Visit the marked vertices, or the whole slice, in topological order
+        boolean scan = sweep || (long) count * SCAN_RATIO >= slice;
+        if (!scan) {
+            for (int i = 0; i < count; i++) {
+                ancestors[i] = index.positionOf(ancestors[i]);
+            }
+            Arrays.sort(ancestors, 0, count);
+        }
+
+        EpochArray dist = workspace.epochArray(1);
+        EpochArray parent = workspace.epochArray(2);
+        dist.begin(n, Integer.MAX_VALUE);
+        parent.begin(n, -1);
+        dist.set(source, 0);
+
+        int steps = scan ? slice : count;
+        for (int i = 1; i < steps; i++) {
+            int x = index.vertexAt(scan ? first + i : ancestors[i]);
+            if (sweep || marked.isSet(x)) {
+                pull(x, dist, parent);
+            }
+        }
+        if (sweep) {
+            count = slice;
+        }
+
+        metrics.stopTimer();
+
+        int distance = dist.get(target);
+        if (distance == Integer.MAX_VALUE) {
+            return new Result(source, target, distance, null, count);
+        }
+        List<Integer> path = new ArrayList<>();
+        for (int v = target; v != -1; v = parent.get(v)) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+        return new Result(source, target, distance, path, count);
+    }
+
+    /**
+     * Predecessors before the source were never pulled and read as unreachable;
+     * in a pruned query every predecessor of a marked vertex inside the slice
+     * is marked itself, so no mark check is needed here.
+     */
+    private void pull(int x, EpochArray dist, EpochArray parent) {
+        int best = Integer.MAX_VALUE;
+        int bestParent = -1;
+        for (int slot = index.predecessorStart(x); slot < index.predecessorEnd(x); slot++) {
+            int u = index.predecessorAt(slot);
+            int d = dist.get(u);
+            if (d == Integer.MAX_VALUE) continue;
+            int candidate = d + index.weightAt(slot);
+            if (candidate < best) {
+                best = candidate;
+                bestParent = u;
+                metrics.incrementRelaxations();
+            }
+        }
+        if (bestParent != -1) {
+            dist.set(x, best);
+            parent.set(x, bestParent);
+        }
+    }
+}
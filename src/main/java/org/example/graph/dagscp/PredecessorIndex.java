@@ -0,0 +1,163 @@
+package org.example.graph.dagscp;
+
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+
+import java.util.List;
+
+/**
+ * Predecessor lists of a DAG in CSR form, together with the topological
+ * positions of its vertices.
+ * Each vertex's predecessors are stored in the order the push-based loops in
+ * {@link DAGShortestPath} would relax them (by topological position, then by
+ * adjacency order), so a pull-based relaxation over this index breaks ties
+ * towards the same parent.
+ */
+public class PredecessorIndex {
+    private final int[] order;
+    private final int[] position;
+    private final int[] start;
+    private final int[] from;
+    private final int[] weight;
+
+    public PredecessorIndex(GraphView graph, List<Integer> topoOrder) {
+        int n = graph.getVertexCount();
+        if (topoOrder.size() != n) {
+            throw new IllegalArgumentException("Topological order must contain all " + n + " vertices");
+        }
+
+        order = new int[n];
+        position = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = topoOrder.get(i);
+            position[order[i]] = i;
+        }
+
+        // Count in-degrees, then scatter in topological order of the tail
+        start = new int[n + 1];
+        EdgeCursor it = graph.cursor();
+        for (int u = 0; u < n; u++) {
+            it.reset(u);
+            while (it.next()) {
+                start[it.target() + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+
+        int m = start[n];
+        from = new int[m];
+        weight = new int[m];
+        int[] next = new int[n];
+        System.arraycopy(start, 0, next, 0, n);
+        for (int u : order) {
+            it.reset(u);
+            while (it.next()) {
+                int slot = next[it.target()]++;
+                from[slot] = u;
+                weight[slot] = it.weight();
+            }
+        }
+    }
+
+    public int getVertexCount() {
+        return order.length;
+    }
+
+    /** Vertex at the given topological position. */
+    public int vertexAt(int pos) {
+        return order[pos];
+    }
+
+    /** Topological position of vertex v. */
+    public int positionOf(int v) {
+        return position[v];
+    }
+
+    /** First slot of v's predecessor list. */
+    public int predecessorStart(int v) {
+        return start[v];
+    }
+
+    /** One past the last slot of v's predecessor list. */
+    public int predecessorEnd(int v) {
+        return start[v + 1];
+    }
+
+    public int predecessorAt(int slot) {
+        return from[slot];
+    }
+
+    public int weightAt(int slot) {
+        return weight[slot];
+    }
+
+    /**
+     * Recomputes dist[x] and parent[x] from x's predecessors, relaxing them in
+     * the same order as the push-based loops. Reads only predecessor entries,
+     * so vertices whose predecessors are final can be processed concurrently.
+     * @return number of improving relaxations
+     */
+    int pull(int x, PathMode mode, int[] dist, int[] parent) {
+        int best;
+        switch (mode) {
+            case SHORTEST: best = Integer.MAX_VALUE; break;
+            case LONGEST: best = Integer.MIN_VALUE; break;
+            default: best = 0; break;
+        }
+        int bestParent = -1;
+        int relaxations = 0;
+
+        int end = start[x + 1];
+        if (mode == PathMode.SHORTEST) {
+            for (int slot = start[x]; slot < end; slot++) {
+                int d = dist[from[slot]];
+                if (d == Integer.MAX_VALUE) continue;
+                int candidate = d + weight[slot];
+                if (candidate < best) {
+                    best = candidate;
+                    bestParent = from[slot];
+                    relaxations++;
+                }
+            }
+        } else {
+            for (int slot = start[x]; slot < end; slot++) {
+                int d = dist[from[slot]];
+                if (d == Integer.MIN_VALUE) continue;
+                int candidate = d + weight[slot];
+                if (candidate > best) {
+                    best = candidate;
+                    bestParent = from[slot];
+                    relaxations++;
+                }
+            }
+        }
+
+        dist[x] = best;
+        parent[x] = bestParent;
+        return relaxations;
+    }
+
+    public boolean containsEdge(int u, int v) {
+        for (int slot = start[v]; slot < start[v + 1]; slot++) {
+            if (from[slot] == u) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Updates the weight of every u->v entry.
+     * @return number of entries updated
+     */
+    public int setWeight(int u, int v, int w) {
+        int updated = 0;
+        for (int slot = start[v]; slot < start[v + 1]; slot++) {
+            if (from[slot] == u) {
+                weight[slot] = w;
+                updated++;
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.graph.reach;
+
+import org.example.graph.CsrGraph;
+import org.example.graph.GraphView;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Impact-analysis queries: every task downstream of (blocked by) or upstream
+ * of (required by) a set of tasks.
+ * Answers come from a direction-optimizing BFS (Beamer et al., 2012) whose
+ * frontier, next frontier and visited set are bitsets. Small frontiers are
+ * expanded top-down, pushing along out-edges with atomic bit sets; once the
+ * frontier's edges exceed 1/14 of the edges not yet explored, the search
+ * switches to bottom-up, where every unvisited vertex scans its in-edges for
+ * a frontier parent and only writes its own bits. Both steps run in parallel
+ * over blocks of bitset words.
+ * The graph and its transpose are held as CSR arrays, so one instance serves
+ * both query directions.
+ */
+public class ReachabilityQuery {
+
+    // Beamer's switching thresholds
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    // Bitset words per parallel task (64 vertices each)
+    private static final int WORDS_PER_TASK = 256;
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final CsrGraph forward;
+    private final CsrGraph backward;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param graph any layout; non-CSR graphs are copied into a {@link CsrGraph}
+     */
+    public ReachabilityQuery(GraphView graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public ReachabilityQuery(GraphView graph, ForkJoinPool pool) {
+        this.forward = graph instanceof CsrGraph ? (CsrGraph) graph : CsrGraph.from(graph);
+        this.backward = forward.transpose(pool);
+        this.pool = pool;
+    }
+
+    /**
+     * Tasks reachable from any of the sources: what is blocked if they slip.
+     * A source is included only if another source, or a cycle, leads back to it.
+     */
+    public BitSet descendants(int... sources) {
+        return BitSet.valueOf(search(forward, backward, sources));
+    }
+
+    /**
+     * Tasks from which any of the targets is reachable: what must finish first.
+     * A target is included only if another target, or a cycle, leads to it.
+     */
+    public BitSet ancestors(int... targets) {
+        return BitSet.valueOf(search(backward, forward, targets));
+    }
+
+    /** {@link #descendants} as sorted vertex ids. */
+    public int[] descendantIds(int... sources) {
+        return toIds(search(forward, backward, sources));
+    }
+
+    /** {@link #ancestors} as sorted vertex ids. */
+    public int[] ancestorIds(int... targets) {
+        return toIds(search(backward, forward, targets));
+    }
+
+    public int getVertexCount() {
+        return forward.getVertexCount();
+    }
+
+    /**
+     * @param out  edges followed by the query
+     * @param in   the same edges reversed, for bottom-up steps
+     * @return visited bitset words
+     */
+    private long[] search(CsrGraph out, CsrGraph in, int[] sources) {
+        int n = out.getVertexCount();
+        int words = (n + 63) >>> 6;
+        long[] visited = new long[words];
+        long[] frontier = new long[words];
+
+        long frontierEdges = 0;
+        int frontierSize = 0;
+        for (int s : sources) {
+            if (s < 0 || s >= n) {
+                throw new IllegalArgumentException("Vertex out of range: " + s);
+            }
+            if ((frontier[s >>> 6] & (1L << s)) == 0) {
+                frontier[s >>> 6] |= 1L << s;
+                frontierEdges += out.getOutDegree(s);
+                frontierSize++;
+            }
+        }
+        // Edges still to be examined by top-down steps
+        long unexploredEdges = out.getEdgeCount();
+        boolean bottomUp = false;
+
+        int tasks = (words + WORDS_PER_TASK - 1) / WORDS_PER_TASK;
+        long[] taskSize = new long[tasks];
+        long[] taskEdges = new long[tasks];
+
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+
+            long[] next = new long[words];
+            long[] current = frontier;
+            boolean up = bottomUp;
+            forEachTask(tasks, t -> {
+                int from = t * WORDS_PER_TASK;
+                int to = Math.min(words, from + WORDS_PER_TASK);
+                if (up) {
+                    bottomUpStep(in, current, next, visited, from, to, n);
+                } else {
+                    topDownStep(out, current, next, visited, from, to);
+                }
+            });
+
+            // Sizes of the new frontier, per task, in parallel
+            forEachTask(tasks, t -> {
+                int from = t * WORDS_PER_TASK;
+                int to = Math.min(words, from + WORDS_PER_TASK);
+                long size = 0;
+                long edges = 0;
+                for (int w = from; w < to; w++) {
+                    long bits = next[w];
+                    size += Long.bitCount(bits);
+                    while (bits != 0) {
+                        int v = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        edges += out.getOutDegree(v);
+                        bits &= bits - 1;
+                    }
+                }
+                taskSize[t] = size;
+                taskEdges[t] = edges;
+            });
+
+            unexploredEdges -= frontierEdges;
+            frontierSize = 0;
+            frontierEdges = 0;
+            for (int t = 0; t < tasks; t++) {
+                frontierSize += (int) taskSize[t];
+                frontierEdges += taskEdges[t];
+            }
+            frontier = next;
+        }
+        return visited;
+    }
+
+    /**
+     * Pushes from the frontier words [from, to); targets may lie anywhere, so bits are set atomically.
+     */
+    private static void topDownStep(CsrGraph out, long[] frontier, long[] next, long[] visited, int from, int to) {
+        for (int w = from; w < to; w++) {
+            long bits = frontier[w];
+            while (bits != 0) {
+                int u = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                for (int i = 0, degree = out.getOutDegree(u); i < degree; i++) {
+                    int v = out.getTarget(u, i);
+                    long mask = 1L << v;
+                    // Plain read first: most targets of a large frontier are already visited
+                    if ((visited[v >>> 6] & mask) != 0) continue;
+                    long old = (long) WORDS.getAndBitwiseOr(visited, v >>> 6, mask);
+                    if ((old & mask) == 0) {
+                        WORDS.getAndBitwiseOr(next, v >>> 6, mask);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Pulls into the unvisited vertices of words [from, to); only those words are written.
+     */
+    private static void bottomUpStep(CsrGraph in, long[] frontier, long[] next, long[] visited, int from, int to, int n) {
+        for (int w = from; w < to; w++) {
+            long unvisited = ~visited[w];
+            if (w == (n - 1) >>> 6 && (n & 63) != 0) {
+                unvisited &= (1L << n) - 1;
+            }
+            long found = 0;
+            while (unvisited != 0) {
+                int bit = Long.numberOfTrailingZeros(unvisited);
+                unvisited &= unvisited - 1;
+                int v = (w << 6) + bit;
+                for (int i = 0, degree = in.getOutDegree(v); i < degree; i++) {
+                    int u = in.getTarget(v, i);
+                    if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                        found |= 1L << bit;
+                        break;
+                    }
+                }
+            }
+            next[w] = found;
+            visited[w] |= found;
+        }
+    }
+
+    private void forEachTask(int tasks, IntConsumer body) {
+        if (tasks == 1) {
+            body.accept(0);
+        } else {
+            pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(body)).join();
+        }
+    }
+
+    private static int[] toIds(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        int[] ids = new int[count];
+        int k = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                ids[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+}
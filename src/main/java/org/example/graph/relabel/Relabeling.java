@@ -0,0 +1,212 @@
+package org.example.graph.relabel;
+
+import org.example.graph.CsrGraph;
+import org.example.graph.GraphView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A vertex permutation that puts vertices used together next to each other,
+ * and the graph rewritten under it. With arbitrary input ids, per-vertex
+ * arrays such as distances, DFS indices or in-degrees are touched at random
+ * positions; after relabeling, neighbors mostly share cache lines.
+ * Vertex {@code order[i]} of the input becomes vertex i of {@link #graph};
+ * {@code rank} is the inverse. Strategies:
+ * <ul>
+ *   <li>TOPOLOGICAL: Kahn's order over out-edges, so DAG passes sweep the
+ *       arrays front to back; vertices on or behind cycles follow in id order.</li>
+ *   <li>BFS: breadth-first over edges in both directions, roots in id order.</li>
+ *   <li>RCM: reverse Cuthill–McKee, a BFS from low-degree roots that visits
+ *       neighbors by increasing degree and is then reversed, which keeps the
+ *       id gap along edges (the bandwidth) small.</li>
+ *   <li>DEGREE: by decreasing total degree, so hubs share a few cache lines.</li>
+ * </ul>
+ */
+public class Relabeling {
+
+    public enum Strategy {
+        TOPOLOGICAL,
+        BFS,
+        RCM,
+        DEGREE
+    }
+
+    /** order[i] = input id of relabeled vertex i. */
+    public final int[] order;
+    /** rank[v] = relabeled id of input vertex v. */
+    public final int[] rank;
+    public final CsrGraph graph;
+
+    private Relabeling(int[] order, int[] rank, CsrGraph graph) {
+        this.order = order;
+        this.rank = rank;
+        this.graph = graph;
+    }
+
+    public static Relabeling compute(GraphView graph, Strategy strategy) {
+        return compute(graph, strategy, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool pool for the transpose and the graph rewrite
+     */
+    public static Relabeling compute(GraphView graph, Strategy strategy, ForkJoinPool pool) {
+        CsrGraph csr = graph instanceof CsrGraph ? (CsrGraph) graph : CsrGraph.from(graph);
+        int[] order;
+        switch (strategy) {
+            case TOPOLOGICAL: order = topologicalOrder(csr); break;
+            case BFS: order = breadthFirstOrder(csr, csr.transpose(pool), false); break;
+            case RCM: order = breadthFirstOrder(csr, csr.transpose(pool), true); break;
+            default: order = byDegree(csr, csr.transpose(pool), false); break;
+        }
+        return fromOrder(csr, order, pool);
+    }
+
+    /**
+     * Relabels by a precomputed order, e.g. a topological order that is already known.
+     * @param order order[i] = input vertex that becomes vertex i; a permutation of all vertices
+     */
+    public static Relabeling fromOrder(GraphView graph, int[] order, ForkJoinPool pool) {
+        CsrGraph csr = graph instanceof CsrGraph ? (CsrGraph) graph : CsrGraph.from(graph);
+        int[] rank = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+        return new Relabeling(order, rank, csr.permute(order, rank, pool));
+    }
+
+    /** Input id of a relabeled vertex. */
+    public int toOriginal(int v) {
+        return order[v];
+    }
+
+    public List<Integer> toOriginal(List<Integer> vertices) {
+        List<Integer> mapped = new ArrayList<>(vertices.size());
+        for (int v : vertices) {
+            mapped.add(order[v]);
+        }
+        return mapped;
+    }
+
+    /** Relabeled id of an input vertex. */
+    public int toRelabeled(int v) {
+        return rank[v];
+    }
+
+    private static int[] topologicalOrder(CsrGraph graph) {
+        int n = graph.getVertexCount();
+        int[] inDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (int i = 0, degree = graph.getOutDegree(u); i < degree; i++) {
+                inDegree[graph.getTarget(u, i)]++;
+            }
+        }
+        int[] order = new int[n];
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) order[tail++] = v;
+        }
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
+            for (int i = 0, degree = graph.getOutDegree(u); i < degree; i++) {
+                int v = graph.getTarget(u, i);
+                if (--inDegree[v] == 0) order[tail++] = v;
+            }
+        }
+        // Whatever a cycle blocked keeps its input order
+        for (int v = 0; v < n && tail < n; v++) {
+            if (inDegree[v] > 0) order[tail++] = v;
+        }
+        return order;
+    }
+
+    /**
+     * BFS over out- and in-edges. With cuthillMcKee, roots are taken by
+     * increasing degree, each vertex's new neighbors are queued by increasing
+     * degree, and the final order is reversed.
+     */
+    private static int[] breadthFirstOrder(CsrGraph out, CsrGraph in, boolean cuthillMcKee) {
+        int n = out.getVertexCount();
+        int[] roots = cuthillMcKee ? byDegree(out, in, true) : null;
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        long[] batch = new long[0];
+        int tail = 0;
+        for (int r = 0; r < n; r++) {
+            int root = roots == null ? r : roots[r];
+            if (visited[root]) continue;
+            visited[root] = true;
+            order[tail++] = root;
+            for (int head = tail - 1; head < tail; head++) {
+                int u = order[head];
+                int first = tail;
+                tail = enqueueUnvisited(out, u, visited, order, tail);
+                tail = enqueueUnvisited(in, u, visited, order, tail);
+                if (cuthillMcKee && tail - first > 1) {
+                    // Sort the new vertices by (degree, id) packed into longs
+                    int count = tail - first;
+                    if (batch.length < count) batch = new long[Math.max(count, 2 * batch.length)];
+                    for (int k = 0; k < count; k++) {
+                        int v = order[first + k];
+                        batch[k] = (long) degree(out, in, v) << 32 | v;
+                    }
+                    Arrays.sort(batch, 0, count);
+                    for (int k = 0; k < count; k++) {
+                        order[first + k] = (int) batch[k];
+                    }
+                }
+            }
+        }
+        if (cuthillMcKee) {
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+        }
+        return order;
+    }
+
+    private static int enqueueUnvisited(CsrGraph side, int u, boolean[] visited, int[] queue, int tail) {
+        for (int i = 0, degree = side.getOutDegree(u); i < degree; i++) {
+            int v = side.getTarget(u, i);
+            if (!visited[v]) {
+                visited[v] = true;
+                queue[tail++] = v;
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Vertices sorted by total degree with a counting sort, ties in id order.
+     */
+    private static int[] byDegree(CsrGraph out, CsrGraph in, boolean ascending) {
+        int n = out.getVertexCount();
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            maxDegree = Math.max(maxDegree, degree(out, in, v));
+        }
+        int[] start = new int[maxDegree + 2];
+        for (int v = 0; v < n; v++) {
+            int d = degree(out, in, v);
+            start[(ascending ? d : maxDegree - d) + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) {
+            int d = degree(out, in, v);
+            order[start[ascending ? d : maxDegree - d]++] = v;
+        }
+        return order;
+    }
+
+    private static int degree(CsrGraph out, CsrGraph in, int v) {
+        return out.getOutDegree(v) + in.getOutDegree(v);
+    }
+}
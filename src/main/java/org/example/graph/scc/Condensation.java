@@ -0,0 +1,65 @@
+package org.example.graph.scc;
+
+import org.example.graph.CsrGraph;
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+
+import java.util.Arrays;
+
+/**
+ * Builds the condensation DAG from a componentOf array, for any SCC engine.
+ * Produces the same edges, weights and edge order as
+ * {@link TarjanSCC#buildCondensationGraph}: the first edge seen between two
+ * components (in increasing source vertex order) is kept. Duplicates are
+ * detected with one int marker per component instead of a set of string keys.
+ */
+public class Condensation {
+
+    private Condensation() {
+    }
+
+    public static CsrGraph build(GraphView graph, int[] componentOf, int componentCount) {
+        int n = graph.getVertexCount();
+
+        // Members of each component in increasing vertex order
+        int[] memberStart = new int[componentCount + 1];
+        for (int v = 0; v < n; v++) {
+            memberStart[componentOf[v] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            memberStart[c + 1] += memberStart[c];
+        }
+        int[] members = new int[n];
+        int[] next = Arrays.copyOf(memberStart, componentCount);
+        for (int v = 0; v < n; v++) {
+            members[next[componentOf[v]]++] = v;
+        }
+
+        int[] offsets = new int[componentCount + 1];
+        int[] targets = new int[Math.max(16, componentCount)];
+        int[] weights = new int[targets.length];
+        int[] lastSource = new int[componentCount];
+        Arrays.fill(lastSource, -1);
+
+        int m = 0;
+        EdgeCursor it = graph.cursor();
+        for (int c = 0; c < componentCount; c++) {
+            for (int k = memberStart[c]; k < memberStart[c + 1]; k++) {
+                it.reset(members[k]);
+                while (it.next()) {
+                    int d = componentOf[it.target()];
+                    if (d == c || lastSource[d] == c) continue;
+                    lastSource[d] = c;
+                    if (m == targets.length) {
+                        targets = Arrays.copyOf(targets, 2 * m);
+                        weights = Arrays.copyOf(weights, 2 * m);
+                    }
+                    targets[m] = d;
+                    weights[m++] = it.weight();
+                }
+            }
+            offsets[c + 1] = m;
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.graph.scc;
+
+import org.example.Metrics;
+import org.example.graph.IndexedGraphView;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Pearce's space-efficient variant of Tarjan's algorithm
+ * ("A space-efficient algorithm for finding strongly connected components", 2016).
+ * A single rindex array replaces ids[], low[] and onStack[]: finished
+ * vertices are overwritten with their component number, which counts down
+ * from n-1 so it never collides with active DFS indices. Root flags live in a
+ * bitset, and the DFS stack and component stack share one array, growing from
+ * opposite ends. The DFS is iterative, so deep graphs cannot overflow the
+ * thread stack.
+ * Time complexity: O(V + E), space: 3 ints + 1 bit per vertex.
+ */
+public class PearceSCC {
+    private final IndexedGraphView graph;
+    private final Metrics metrics;
+
+    private int componentCount;
+
+    public PearceSCC(IndexedGraphView graph, Metrics metrics) {
+        this.graph = graph;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Finds all strongly connected components.
+     * Components are numbered in the order Tarjan's algorithm emits them
+     * (reverse topological order of the condensation).
+     * @return componentOf[v] = index of the component containing v
+     */
+    public int[] findComponents() {
+        int n = graph.getVertexCount();
+        int[] rindex = new int[n];
+        BitSet root = new BitSet(n);
+        // DFS stack grows up from 0, component stack grows down from n
+        int[] stack = new int[n];
+        int[] edgeIndex = new int[n];
+        int depth = 0;
+        int componentTop = n;
+
+        int index = 1;
+        int c = n - 1;
+
+        metrics.startTimer();
+
+        for (int s = 0; s < n; s++) {
+            if (rindex[s] != 0) continue;
+
+            rindex[s] = index++;
+            root.set(s);
+            stack[depth] = s;
+            edgeIndex[depth++] = 0;
+            metrics.incrementDfsVisits();
+
+            while (depth > 0) {
+                int v = stack[depth - 1];
+                int i = edgeIndex[depth - 1];
+
+                if (i < graph.getOutDegree(v)) {
+                    int w = graph.getTarget(v, i);
+                    metrics.incrementEdgesExplored();
+
+                    if (rindex[w] == 0) {
+                        // Descend; the edge is finished when w returns
+                        rindex[w] = index++;
+                        root.set(w);
+                        stack[depth] = w;
+                        edgeIndex[depth++] = 0;
+                        metrics.incrementDfsVisits();
+                        continue;
+                    }
+
+                    if (rindex[w] < rindex[v]) {
+                        rindex[v] = rindex[w];
+                        root.clear(v);
+                    }
+                    edgeIndex[depth - 1]++;
+                    continue;
+                }
+
+                // All edges of v explored
+                depth--;
+                if (root.get(v)) {
+                    index--;
+                    while (componentTop < n && rindex[v] <= rindex[stack[componentTop]]) {
+                        rindex[stack[componentTop++]] = c;
+                        index--;
+                    }
+                    rindex[v] = c--;
+                } else {
+                    stack[--componentTop] = v;
+                }
+
+                if (depth > 0) {
+                    int u = stack[depth - 1];
+                    if (rindex[v] < rindex[u]) {
+                        rindex[u] = rindex[v];
+                        root.clear(u);
+                    }
+                    edgeIndex[depth - 1]++;
+                }
+            }
+        }
+
+        metrics.stopTimer();
+
+        // Component numbers were assigned downwards from n-1
+        for (int v = 0; v < n; v++) {
+            rindex[v] = n - 1 - rindex[v];
+        }
+        componentCount = n - 1 - c;
+        return rindex;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Expands a componentOf array into member lists, with members in increasing
+     * vertex order. Components keep their numbers, which match the list
+     * indices of {@link TarjanSCC#findSCCs()}, but Tarjan lists members in
+     * stack-pop order, so the lists are equal only as sets.
+     */
+    public static List<List<Integer>> toComponentLists(int[] componentOf, int componentCount) {
+        List<List<Integer>> sccs = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            sccs.add(new ArrayList<>());
+        }
+        for (int v = 0; v < componentOf.length; v++) {
+            sccs.get(componentOf[v]).add(v);
+        }
+        return sccs;
+    }
+}
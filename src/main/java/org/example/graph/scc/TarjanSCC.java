@@ -3,6 +3,11 @@ package org.example.graph.scc;
 
 import org.example.Graph;
 import org.example.Metrics;
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+import org.example.graph.IndexedGraphView;
+import org.example.graph.workspace.EpochArray;
+import org.example.graph.workspace.Workspace;
 
 import java.util.*;
 
@@ -11,7 +16,7 @@ import java.util.*;
  * Time complexity: O(V + E)
  */
 public class TarjanSCC {
-    private final Graph graph;
+    private final GraphView graph;
     private final Metrics metrics;
 
     private int[] ids;
@@ -22,7 +27,7 @@ public class TarjanSCC {
     private int sccCount;
     private List<List<Integer>> sccs;
 
-    public TarjanSCC(Graph graph, Metrics metrics) {
+    public TarjanSCC(GraphView graph, Metrics metrics) {
         this.graph = graph;
         this.metrics = metrics;
     }
@@ -57,6 +62,95 @@ public class TarjanSCC {
         return sccs;
     }
 
+    /**
+     * Iterative variant that borrows all working memory from a workspace
+     * (epoch arrays 0-1, buffers 0-3) and allocates nothing. Components get
+     * the same numbers as the lists of {@link #findSCCs}. A vertex is on the
+     * Tarjan stack exactly when it has a DFS index but no component yet, so
+     * no separate onStack array is needed.
+     * @param componentOf receives the component of every vertex; at least n entries
+     * @return number of components
+     * @throws IllegalArgumentException if the graph has no indexed edge access
+     */
+    public int findComponents(Workspace workspace, int[] componentOf) {
+        if (!(graph instanceof IndexedGraphView)) {
+            throw new IllegalArgumentException("Workspace variant needs an IndexedGraphView");
+        }
+        IndexedGraphView indexed = (IndexedGraphView) graph;
+        int n = graph.getVertexCount();
+        EpochArray index = workspace.epochArray(0);
+        EpochArray component = workspace.epochArray(1);
+        index.begin(n, -1);
+        component.begin(n, -1);
+        int[] low = workspace.buffer(0, n);
+        int[] stack = workspace.buffer(1, n);
+        int[] frames = workspace.buffer(2, n);
+        int[] edgeIndex = workspace.buffer(3, n);
+
+        int next = 0;
+        int top = 0;
+        int count = 0;
+
+        metrics.startTimer();
+
+        for (int s = 0; s < n; s++) {
+            if (index.get(s) != -1) continue;
+
+            index.set(s, next);
+            low[s] = next++;
+            stack[top++] = s;
+            frames[0] = s;
+            edgeIndex[0] = 0;
+            int depth = 1;
+            metrics.incrementDfsVisits();
+
+            while (depth > 0) {
+                int u = frames[depth - 1];
+                int i = edgeIndex[depth - 1];
+                if (i < indexed.getOutDegree(u)) {
+                    edgeIndex[depth - 1]++;
+                    int v = indexed.getTarget(u, i);
+                    metrics.incrementEdgesExplored();
+                    if (index.get(v) == -1) {
+                        index.set(v, next);
+                        low[v] = next++;
+                        stack[top++] = v;
+                        frames[depth] = v;
+                        edgeIndex[depth] = 0;
+                        depth++;
+                        metrics.incrementDfsVisits();
+                    } else if (component.get(v) == -1) {
+                        low[u] = Math.min(low[u], index.get(v));
+                    }
+                    continue;
+                }
+
+                // u is finished: pop its component if it is a root, then return to the parent
+                if (low[u] == index.get(u)) {
+                    int v;
+                    do {
+                        v = stack[--top];
+                        component.set(v, count);
+                    } while (v != u);
+                    count++;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = frames[depth - 1];
+                    low[parent] = Math.min(low[parent], low[u]);
+                }
+            }
+        }
+
+        for (int v = 0; v < n; v++) {
+            componentOf[v] = component.get(v);
+        }
+
+        metrics.stopTimer();
+
+        return count;
+    }
+
     private void dfs(int u) {
         ids[u] = low[u] = id++;
         stack.push(u);
@@ -64,8 +158,9 @@ public class TarjanSCC {
         metrics.incrementDfsVisits();
 
         // Explore neighbors
-        for (Graph.Edge edge : graph.getNeighbors(u)) {
-            int v = edge.to;
+        EdgeCursor it = graph.edges(u);
+        while (it.next()) {
+            int v = it.target();
             metrics.incrementEdgesExplored();
 
             if (ids[v] == -1) {
@@ -113,16 +208,18 @@ public class TarjanSCC {
         Set<String> addedEdges = new HashSet<>();
 
         // Add edges between different SCCs
+        EdgeCursor it = graph.cursor();
         for (int u = 0; u < n; u++) {
-            for (Graph.Edge edge : graph.getNeighbors(u)) {
-                int v = edge.to;
+            it.reset(u);
+            while (it.next()) {
+                int v = it.target();
                 int sccU = vertexToScc[u];
                 int sccV = vertexToScc[v];
 
                 if (sccU != sccV) {
                     String edgeKey = sccU + "->" + sccV;
                     if (!addedEdges.contains(edgeKey)) {
-                        condensation.addEdge(sccU, sccV, edge.weight);
+                        condensation.addEdge(sccU, sccV, it.weight());
                         addedEdges.add(edgeKey);
                     }
                 }
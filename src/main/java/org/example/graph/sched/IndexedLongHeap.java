@@ -0,0 +1,150 @@
+package org.example.graph.sched;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int items in [0, capacity) with long keys, kept in
+ * primitive arrays. Items are ordered by key, then by id, so the order of
+ * equal keys is deterministic. A position index makes {@link #contains} and
+ * {@link #update} O(1) and O(log n). Keys are stored next to the items in
+ * heap order, so sifting never looks keys up by item.
+ */
+public class IndexedLongHeap {
+
+    private final int[] items;
+    private final long[] keys;
+    private final int[] position;
+    private int size;
+
+    public IndexedLongHeap(int capacity) {
+        items = new int[capacity];
+        keys = new long[capacity];
+        position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int item) {
+        return position[item] >= 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the item is already in the heap
+     */
+    public void add(int item, long key) {
+        if (position[item] >= 0) {
+            throw new IllegalArgumentException("Item already in heap: " + item);
+        }
+        siftUp(size++, item, key);
+    }
+
+    /**
+     * Changes the key of an item in the heap, in either direction.
+     */
+    public void update(int item, long key) {
+        int i = position[item];
+        if (i < 0) {
+            throw new IllegalArgumentException("Item not in heap: " + item);
+        }
+        if (key < keys[i]) {
+            siftUp(i, item, key);
+        } else {
+            siftDown(i, item, key);
+        }
+    }
+
+    public long keyOf(int item) {
+        return keys[position[item]];
+    }
+
+    /** Item with the smallest key; the heap must not be empty. */
+    public int peek() {
+        return items[0];
+    }
+
+    public long peekKey() {
+        return keys[0];
+    }
+
+    /** Removes and returns the item with the smallest key; the heap must not be empty. */
+    public int poll() {
+        int top = items[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            siftDown(0, items[size], keys[size]);
+        }
+        return top;
+    }
+
+    /**
+     * Removes an item from anywhere in the heap.
+     */
+    public void remove(int item) {
+        int i = position[item];
+        if (i < 0) {
+            throw new IllegalArgumentException("Item not in heap: " + item);
+        }
+        position[item] = -1;
+        size--;
+        if (i == size) {
+            return;
+        }
+        int last = items[size];
+        long key = keys[size];
+        if (i > 0 && less(key, last, keys[(i - 1) >>> 1], items[(i - 1) >>> 1])) {
+            siftUp(i, last, key);
+        } else {
+            siftDown(i, last, key);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[items[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i, int item, long key) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(key, item, keys[parent], items[parent])) break;
+            place(i, items[parent], keys[parent]);
+            i = parent;
+        }
+        place(i, item, key);
+    }
+
+    private void siftDown(int i, int item, long key) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && less(keys[right], items[right], keys[child], items[child])) {
+                child = right;
+            }
+            if (!less(keys[child], items[child], key, item)) break;
+            place(i, items[child], keys[child]);
+            i = child;
+        }
+        place(i, item, key);
+    }
+
+    private void place(int i, int item, long key) {
+        items[i] = item;
+        keys[i] = key;
+        position[item] = i;
+    }
+
+    private static boolean less(long keyA, int itemA, long keyB, int itemB) {
+        return keyA < keyB || (keyA == keyB && itemA < itemB);
+    }
+}
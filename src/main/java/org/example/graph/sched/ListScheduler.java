@@ -0,0 +1,151 @@
+package org.example.graph.sched;
+
+import org.example.Metrics;
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+import org.example.graph.dagscp.DAGShortestPath;
+
+import java.util.List;
+
+/**
+ * List scheduling of a DAG of tasks on a fixed number of identical workers.
+ * A task becomes ready when all its predecessors have finished; whenever a
+ * worker is idle it takes the ready task with the largest bottom level (its
+ * own duration plus the longest chain of durations after it, from
+ * {@link DAGShortestPath#bottomLevels}), lower ids first on ties.
+ * The ready queue is an {@link IndexedLongHeap} over tasks keyed by negated
+ * bottom level; running tasks sit in a second heap over workers keyed by
+ * finish time, so the simulation jumps from one completion time to the next.
+ * Runs in O((n + m) log n) time.
+ */
+public class ListScheduler {
+
+    private final GraphView graph;
+    private final Metrics metrics;
+
+    public static class Schedule {
+        public final int workers;
+        public final long[] start;
+        public final long[] finish;
+        /** Worker that ran each task, in [0, workers). */
+        public final int[] worker;
+        public final long makespan;
+
+        public Schedule(int workers, long[] start, long[] finish, int[] worker, long makespan) {
+            this.workers = workers;
+            this.start = start;
+            this.finish = finish;
+            this.worker = worker;
+            this.makespan = makespan;
+        }
+
+        /**
+         * Busy time over available time, in [0, 1].
+         */
+        public double utilization() {
+            long busy = 0;
+            for (int v = 0; v < start.length; v++) {
+                busy += finish[v] - start[v];
+            }
+            return makespan == 0 ? 1.0 : (double) busy / ((double) makespan * workers);
+        }
+    }
+
+    public ListScheduler(GraphView graph, Metrics metrics) {
+        this.graph = graph;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param topoOrder topological order of the DAG, used for the bottom levels
+     * @param durations non-negative duration of every task
+     * @param workers number of workers, at least 1
+     * @throws IllegalArgumentException for bad arguments or a graph with a cycle
+     */
+    public Schedule schedule(List<Integer> topoOrder, int[] durations, int workers) {
+        int n = graph.getVertexCount();
+        if (workers < 1) {
+            throw new IllegalArgumentException("Need at least one worker: " + workers);
+        }
+        if (durations.length != n) {
+            throw new IllegalArgumentException("Durations for " + durations.length + " tasks, graph has " + n);
+        }
+        for (int v = 0; v < n; v++) {
+            if (durations[v] < 0) {
+                throw new IllegalArgumentException("Negative duration for task " + v + ": " + durations[v]);
+            }
+        }
+        long[] bottomLevel = new DAGShortestPath(graph, new Metrics()).bottomLevels(topoOrder, durations);
+
+        metrics.startTimer();
+
+        int[] inDegree = new int[n];
+        EdgeCursor it = graph.cursor();
+        for (int u = 0; u < n; u++) {
+            it.reset(u);
+            while (it.next()) {
+                inDegree[it.target()]++;
+            }
+        }
+
+        IndexedLongHeap ready = new IndexedLongHeap(n);
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                ready.add(v, -bottomLevel[v]);
+                metrics.incrementPushes();
+            }
+        }
+
+        // Idle workers as a stack, worker 0 on top; running ones keyed by finish time
+        int[] idle = new int[workers];
+        int idleCount = 0;
+        for (int w = workers - 1; w >= 0; w--) {
+            idle[idleCount++] = w;
+        }
+        IndexedLongHeap running = new IndexedLongHeap(workers);
+        int[] taskOf = new int[workers];
+
+        long[] start = new long[n];
+        long[] finish = new long[n];
+        int[] worker = new int[n];
+        long now = 0;
+        int scheduled = 0;
+        while (true) {
+            while (idleCount > 0 && !ready.isEmpty()) {
+                int v = ready.poll();
+                metrics.incrementPops();
+                int w = idle[--idleCount];
+                start[v] = now;
+                finish[v] = now + durations[v];
+                worker[v] = w;
+                taskOf[w] = v;
+                running.add(w, finish[v]);
+                scheduled++;
+            }
+            if (running.isEmpty()) break;
+
+            // Complete everything that finishes at the next event time
+            now = running.peekKey();
+            while (!running.isEmpty() && running.peekKey() == now) {
+                int w = running.poll();
+                idle[idleCount++] = w;
+                it.reset(taskOf[w]);
+                while (it.next()) {
+                    int v = it.target();
+                    metrics.incrementEdgesExplored();
+                    if (--inDegree[v] == 0) {
+                        ready.add(v, -bottomLevel[v]);
+                        metrics.incrementPushes();
+                    }
+                }
+            }
+        }
+
+        metrics.stopTimer();
+
+        if (scheduled < n) {
+            throw new IllegalArgumentException("Graph has a cycle: " + (n - scheduled) + " tasks never became ready");
+        }
+        return new Schedule(workers, start, finish, worker, now);
+    }
+}
@@ -0,0 +1,331 @@
+package org.example.graph.topo;
+
+import org.example.Metrics;
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+import org.example.graph.sched.IndexedLongHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Orders the tasks inside each SCC with the Eades–Lin–Smyth feedback arc set
+ * heuristic, so that a full task-level order violates as few (or, in weighted
+ * mode, as light) dependencies as possible.
+ * Each SCC is handled independently and in parallel. Inside an SCC sinks
+ * and sources are kept in lists. In unweighted mode the other vertices sit in
+ * bucket queues keyed by out-degree minus in-degree, which is bounded by the
+ * degree, giving O(V + E) time and memory per SCC. In weighted mode the keys
+ * are unbounded, so they go into an {@link IndexedLongHeap} instead, giving
+ * O((V + E) log V) time and O(V + E) memory whatever the weights.
+ * Self-loops are ignored: they are violated by every order. Negative weights
+ * count as zero.
+ */
+public class FeedbackArcSet {
+    private final GraphView graph;
+    private final Metrics metrics;
+    private final boolean weighted;
+
+    public static class Result {
+        public final List<Integer> taskOrder;
+        /** Intra-SCC edges that point backwards in taskOrder. */
+        public final int violatedEdges;
+        /** Total weight of the violated edges (equals violatedEdges in unweighted mode). */
+        public final long violatedWeight;
+
+        public Result(List<Integer> taskOrder, int violatedEdges, long violatedWeight) {
+            this.taskOrder = taskOrder;
+            this.violatedEdges = violatedEdges;
+            this.violatedWeight = violatedWeight;
+        }
+    }
+
+    /**
+     * @param weighted if true, minimize the total weight of violated edges;
+     *                 otherwise minimize their number
+     */
+    public FeedbackArcSet(GraphView graph, Metrics metrics, boolean weighted) {
+        this.graph = graph;
+        this.metrics = metrics;
+        this.weighted = weighted;
+    }
+
+    /**
+     * Derives a task order like {@link TopologicalSort#deriveTaskOrder}, but with
+     * the members of every SCC ordered by the heuristic.
+     * @param sccOrder topological order of SCCs
+     * @param sccs list of SCCs
+     */
+    public Result orderTasks(List<Integer> sccOrder, List<List<Integer>> sccs) {
+        int n = graph.getVertexCount();
+        int[] vertexToScc = new int[n];
+        int[] localIndex = new int[n];
+        for (int i = 0; i < sccs.size(); i++) {
+            List<Integer> scc = sccs.get(i);
+            for (int j = 0; j < scc.size(); j++) {
+                vertexToScc[scc.get(j)] = i;
+                localIndex[scc.get(j)] = j;
+            }
+        }
+
+        int[][] ordered = new int[sccs.size()][];
+        int[] violatedEdges = new int[sccs.size()];
+        long[] violatedWeight = new long[sccs.size()];
+
+        metrics.startTimer();
+
+        // Components are vertex-disjoint, so each task touches only its own slots
+        IntStream.range(0, sccs.size()).parallel().forEach(i -> {
+            List<Integer> scc = sccs.get(i);
+            int[] members = new int[scc.size()];
+            for (int j = 0; j < members.length; j++) {
+                members[j] = scc.get(j);
+            }
+            if (members.length == 1) {
+                ordered[i] = members;
+                return;
+            }
+
+            Component component = new Component(members, i, vertexToScc, localIndex);
+            int[] order = component.order();
+            int[] position = new int[members.length];
+            for (int p = 0; p < order.length; p++) {
+                position[order[p]] = p;
+                order[p] = members[order[p]];
+            }
+            ordered[i] = order;
+
+            for (int u = 0; u < members.length; u++) {
+                for (int e = component.outStart[u]; e < component.outStart[u + 1]; e++) {
+                    if (position[u] > position[component.outTo[e]]) {
+                        violatedEdges[i]++;
+                        violatedWeight[i] += component.outWeight[e];
+                    }
+                }
+            }
+        });
+
+        metrics.stopTimer();
+
+        List<Integer> taskOrder = new ArrayList<>(n);
+        int totalEdges = 0;
+        long totalWeight = 0;
+        for (int sccIdx : sccOrder) {
+            for (int v : ordered[sccIdx]) {
+                taskOrder.add(v);
+            }
+            totalEdges += violatedEdges[sccIdx];
+            totalWeight += violatedWeight[sccIdx];
+        }
+        return new Result(taskOrder, totalEdges, totalWeight);
+    }
+
+    /**
+     * Subgraph induced by one SCC, in local ids, with the ELS state.
+     */
+    private class Component {
+        private static final int SINKS = 0;
+        private static final int SOURCES = 1;
+        private static final int DELTA = 2;
+        private static final int NONE = -1;
+
+        final int size;
+        final int[] outStart;
+        final int[] outTo;
+        final int[] outWeight;
+        final int[] inStart;
+        final int[] inFrom;
+        final int[] inWeight;
+
+        // Remaining degrees: counts decide sink/source, weights decide the bucket
+        // or heap key. Sums are longs: weights near Integer.MAX_VALUE add up
+        // past the int range.
+        final int[] outCount;
+        final int[] inCount;
+        final long[] outSum;
+        final long[] inSum;
+
+        // Lists for SINKS and SOURCES; the rest by largest delta = outSum - inSum,
+        // in one bucket per delta after them (unweighted) or in a heap (weighted)
+        final int deltaOffset;
+        final int[] head;
+        final int[] next;
+        final int[] prev;
+        final int[] bin;
+        final IndexedLongHeap byDelta;
+        final boolean[] removed;
+        int maxBucket;
+
+        Component(int[] members, int sccIdx, int[] vertexToScc, int[] localIndex) {
+            size = members.length;
+            outCount = new int[size];
+            inCount = new int[size];
+            outSum = new long[size];
+            inSum = new long[size];
+
+            EdgeCursor it = graph.cursor();
+            for (int u = 0; u < size; u++) {
+                it.reset(members[u]);
+                while (it.next()) {
+                    int target = it.target();
+                    if (vertexToScc[target] != sccIdx || target == members[u]) continue;
+                    int v = localIndex[target];
+                    int w = weighted ? Math.max(it.weight(), 0) : 1;
+                    outCount[u]++;
+                    inCount[v]++;
+                    outSum[u] += w;
+                    inSum[v] += w;
+                }
+            }
+
+            outStart = new int[size + 1];
+            inStart = new int[size + 1];
+            for (int u = 0; u < size; u++) {
+                outStart[u + 1] = outStart[u] + outCount[u];
+                inStart[u + 1] = inStart[u] + inCount[u];
+            }
+            int m = outStart[size];
+            outTo = new int[m];
+            outWeight = new int[m];
+            inFrom = new int[m];
+            inWeight = new int[m];
+
+            int[] inNext = new int[size];
+            System.arraycopy(inStart, 0, inNext, 0, size);
+            int e = 0;
+            for (int u = 0; u < size; u++) {
+                it.reset(members[u]);
+                while (it.next()) {
+                    int target = it.target();
+                    if (vertexToScc[target] != sccIdx || target == members[u]) continue;
+                    int v = localIndex[target];
+                    int w = weighted ? Math.max(it.weight(), 0) : 1;
+                    outTo[e] = v;
+                    outWeight[e++] = w;
+                    inFrom[inNext[v]] = u;
+                    inWeight[inNext[v]++] = w;
+                }
+            }
+
+            if (weighted) {
+                deltaOffset = NONE;
+                head = new int[]{NONE, NONE};
+                byDelta = new IndexedLongHeap(size);
+            } else {
+                // Unit weights: |delta| is at most the degree, so buckets fit in O(V + E)
+                int maxOut = 0;
+                int maxIn = 0;
+                for (int u = 0; u < size; u++) {
+                    maxOut = Math.max(maxOut, outCount[u]);
+                    maxIn = Math.max(maxIn, inCount[u]);
+                }
+                deltaOffset = 2 + maxIn;
+                head = new int[deltaOffset + maxOut + 1];
+                Arrays.fill(head, NONE);
+                byDelta = null;
+            }
+            next = new int[size];
+            prev = new int[size];
+            bin = new int[size];
+            removed = new boolean[size];
+            maxBucket = 2;
+            for (int u = 0; u < size; u++) {
+                bin[u] = NONE;
+                place(u);
+            }
+        }
+
+        /**
+         * @return local ids in heuristic order
+         */
+        int[] order() {
+            int[] order = new int[size];
+            int front = 0;
+            int back = size - 1;
+            int remaining = size;
+
+            while (remaining > 0) {
+                if (head[SINKS] != NONE) {
+                    int u = head[SINKS];
+                    order[back--] = u;
+                    remove(u);
+                } else if (head[SOURCES] != NONE) {
+                    int u = head[SOURCES];
+                    order[front++] = u;
+                    remove(u);
+                } else {
+                    int u;
+                    if (byDelta != null) {
+                        u = byDelta.peek();
+                    } else {
+                        while (head[maxBucket] == NONE) maxBucket--;
+                        u = head[maxBucket];
+                    }
+                    order[front++] = u;
+                    remove(u);
+                }
+                remaining--;
+            }
+            return order;
+        }
+
+        private void remove(int u) {
+            unlink(u);
+            removed[u] = true;
+            for (int e = outStart[u]; e < outStart[u + 1]; e++) {
+                int v = outTo[e];
+                if (removed[v]) continue;
+                inCount[v]--;
+                inSum[v] -= outWeight[e];
+                unlink(v);
+                place(v);
+            }
+            for (int e = inStart[u]; e < inStart[u + 1]; e++) {
+                int p = inFrom[e];
+                if (removed[p]) continue;
+                outCount[p]--;
+                outSum[p] -= inWeight[e];
+                unlink(p);
+                place(p);
+            }
+        }
+
+        private void place(int u) {
+            int b;
+            if (outCount[u] == 0) {
+                b = SINKS;
+            } else if (inCount[u] == 0) {
+                b = SOURCES;
+            } else if (byDelta != null) {
+                // Min-heap, so the largest delta comes first
+                bin[u] = DELTA;
+                byDelta.add(u, inSum[u] - outSum[u]);
+                return;
+            } else {
+                b = deltaOffset + (outCount[u] - inCount[u]);
+                if (b > maxBucket) maxBucket = b;
+            }
+            bin[u] = b;
+            prev[u] = NONE;
+            next[u] = head[b];
+            if (head[b] != NONE) prev[head[b]] = u;
+            head[b] = u;
+        }
+
+        private void unlink(int u) {
+            int b = bin[u];
+            if (b == NONE) return;
+            if (b == DELTA && byDelta != null) {
+                byDelta.remove(u);
+                bin[u] = NONE;
+                return;
+            }
+            if (prev[u] != NONE) next[prev[u]] = next[u];
+            else head[b] = next[u];
+            if (next[u] != NONE) prev[next[u]] = prev[u];
+            bin[u] = NONE;
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package org.example.graph.topo;
 
-import org.example.Graph;
 import org.example.Metrics;
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+import org.example.graph.workspace.EpochArray;
+import org.example.graph.workspace.Workspace;
 
 import java.util.*;
 
 public class TopologicalSort {
-    private final Graph graph;
+    private final GraphView graph;
     private final Metrics metrics;
 
-    public TopologicalSort(Graph graph, Metrics metrics) {
+    public TopologicalSort(GraphView graph, Metrics metrics) {
         this.graph = graph;
         this.metrics = metrics;
     }
@@ -23,9 +26,11 @@ public class TopologicalSort {
         int[] inDegree = new int[n];
 
         // Calculate in-degrees
+        EdgeCursor it = graph.cursor();
         for (int u = 0; u < n; u++) {
-            for (Graph.Edge edge : graph.getNeighbors(u)) {
-                inDegree[edge.to]++;
+            it.reset(u);
+            while (it.next()) {
+                inDegree[it.target()]++;
             }
         }
 
@@ -47,8 +52,9 @@ public class TopologicalSort {
             topoOrder.add(u);
 
             // Reduce in-degree for neighbors
-            for (Graph.Edge edge : graph.getNeighbors(u)) {
-                int v = edge.to;
+            it.reset(u);
+            while (it.next()) {
+                int v = it.target();
                 inDegree[v]--;
                 if (inDegree[v] == 0) {
                     queue.offer(v);
@@ -67,6 +73,57 @@ public class TopologicalSort {
         return topoOrder;
     }
 
+    /**
+     * Kahn's algorithm on borrowed memory (epoch array 0 for in-degrees and a
+     * cached cursor); allocates nothing unless a collection cleared the cursor.
+     * The output array doubles as the FIFO queue, so the order is the same as
+     * {@link #sortKahn()}.
+     * @param order receives the order; at least n entries
+     * @return number of vertices ordered, n unless the graph has a cycle
+     */
+    public int sortKahn(Workspace workspace, int[] order) {
+        int n = graph.getVertexCount();
+        EpochArray inDegree = workspace.epochArray(0);
+        inDegree.begin(n, 0);
+
+        EdgeCursor it = workspace.cursor(graph);
+        for (int u = 0; u < n; u++) {
+            it.reset(u);
+            while (it.next()) {
+                inDegree.set(it.target(), inDegree.get(it.target()) + 1);
+            }
+        }
+
+        int tail = 0;
+        for (int u = 0; u < n; u++) {
+            if (inDegree.get(u) == 0) {
+                order[tail++] = u;
+                metrics.incrementPushes();
+            }
+        }
+
+        metrics.startTimer();
+
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
+            metrics.incrementPops();
+            it.reset(u);
+            while (it.next()) {
+                int v = it.target();
+                int remaining = inDegree.get(v) - 1;
+                inDegree.set(v, remaining);
+                if (remaining == 0) {
+                    order[tail++] = v;
+                    metrics.incrementPushes();
+                }
+            }
+        }
+
+        metrics.stopTimer();
+
+        return tail;
+    }
+
     /**
      * DFS-based topological sort (alternative implementation).
      * @return topological order or null if cycle detected
@@ -104,8 +161,9 @@ public class TopologicalSort {
         recStack[u] = true;
         metrics.incrementDfsVisits();
 
-        for (Graph.Edge edge : graph.getNeighbors(u)) {
-            int v = edge.to;
+        EdgeCursor it = graph.edges(u);
+        while (it.next()) {
+            int v = it.target();
             metrics.incrementEdgesExplored();
 
             if (!visited[v]) {
@@ -0,0 +1,112 @@
+package org.example.graph.wcc;
+
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Weakly connected components (edge directions ignored) by concurrent
+ * union-find. Blocks of vertices are processed in parallel; each thread
+ * unions the endpoints of its vertices' out-edges in a shared parent array.
+ * Roots are linked with a CAS, always under the smaller id, so no cycles can
+ * form; finds compress paths by halving, also with CAS, and a failed CAS only
+ * means another thread shortened the path first. Components are numbered in
+ * order of their smallest vertex, so the result does not depend on timing.
+ */
+public class WeakComponents {
+
+    // Vertices per parallel task
+    private static final int BLOCK = 1 << 14;
+
+    private static final VarHandle PARENT = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final GraphView graph;
+    private final ForkJoinPool pool;
+
+    private int componentCount;
+    private int[] sizes;
+
+    public WeakComponents(GraphView graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public WeakComponents(GraphView graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * @return componentOf[v] = index of the weak component containing v
+     */
+    public int[] findComponents() {
+        int n = graph.getVertexCount();
+        int[] parent = new int[n];
+        int blocks = (n + BLOCK - 1) / BLOCK;
+
+        pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b -> {
+            for (int v = b * BLOCK, end = Math.min(n, v + BLOCK); v < end; v++) {
+                parent[v] = v;
+            }
+        })).join();
+
+        pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b -> {
+            EdgeCursor it = graph.cursor();
+            for (int u = b * BLOCK, end = Math.min(n, u + BLOCK); u < end; u++) {
+                it.reset(u);
+                while (it.next()) {
+                    union(parent, u, it.target());
+                }
+            }
+        })).join();
+
+        // Every root is the smallest vertex of its component, so one ascending pass numbers them
+        int[] componentOf = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int root = find(parent, v);
+            componentOf[v] = root == v ? count++ : componentOf[root];
+        }
+        sizes = new int[count];
+        for (int v = 0; v < n; v++) {
+            sizes[componentOf[v]]++;
+        }
+        componentCount = count;
+        return componentOf;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /** Vertices per component, valid after {@link #findComponents}. */
+    public int[] getComponentSizes() {
+        return sizes;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        while (true) {
+            int ra = find(parent, a);
+            int rb = find(parent, b);
+            if (ra == rb) return;
+            int high = Math.max(ra, rb);
+            int low = Math.min(ra, rb);
+            if (PARENT.compareAndSet(parent, high, high, low)) return;
+        }
+    }
+
+    private static int find(int[] parent, int x) {
+        while (true) {
+            int p = (int) PARENT.getVolatile(parent, x);
+            if (p == x) return x;
+            int grandparent = (int) PARENT.getVolatile(parent, p);
+            if (p != grandparent) {
+                PARENT.compareAndSet(parent, x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.graph.workspace;
+
+import java.util.Arrays;
+
+/**
+ * Int array with an O(1) reset. Every entry carries the epoch in which it was
+ * last written, and an entry from an older epoch reads as the default value,
+ * so starting a new use only increments the epoch instead of filling the
+ * array. The stamps are cleared only when the epoch counter wraps around.
+ */
+public final class EpochArray {
+
+    private int[] values = new int[0];
+    private int[] stamps = new int[0];
+    private int epoch;
+    private int defaultValue;
+
+    /**
+     * Starts a new use over [0, n): every entry reads as defaultValue until set.
+     * Grows the array if it holds fewer than n entries.
+     */
+    public void begin(int n, int defaultValue) {
+        if (values.length < n) {
+            values = new int[n];
+            stamps = new int[n];
+            epoch = 0;
+        }
+        this.defaultValue = defaultValue;
+        if (++epoch == 0) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    public int get(int i) {
+        return stamps[i] == epoch ? values[i] : defaultValue;
+    }
+
+    public void set(int i, int value) {
+        values[i] = value;
+        stamps[i] = epoch;
+    }
+
+    /** Whether entry i was written since the last {@link #begin}. */
+    public boolean isSet(int i) {
+        return stamps[i] == epoch;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.graph.workspace;
+
+import org.example.graph.EdgeCursor;
+import org.example.graph.GraphView;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Working memory that algorithms borrow instead of allocating n-sized arrays
+ * on every call. One workspace per thread is kept by {@link #current()}; its
+ * arrays grow to the largest graph seen and are then reused, so repeated
+ * queries in steady state allocate no arrays.
+ * A workspace holds {@link #SLOTS} epoch arrays (reset in O(1)), as many plain
+ * int buffers (contents left over from earlier use) and one edge cursor.
+ * A cursor refers to its graph, so it is held only weakly: the workspaces of
+ * long-lived pool threads never keep a graph alive, at the price that the
+ * first query after a garbage collection may rebuild the cursor, a small
+ * allocation independent of the graph size.
+ * Algorithms document which slots they use; a call owns the workspace until
+ * it returns, and results that live in the workspace stay valid only until
+ * the next call on it.
+ */
+public final class Workspace {
+
+    public static final int SLOTS = 4;
+
+    private static final ThreadLocal<Workspace> CURRENT = ThreadLocal.withInitial(Workspace::new);
+
+    private final EpochArray[] epochArrays = new EpochArray[SLOTS];
+    private final int[][] buffers = new int[SLOTS][];
+    private WeakReference<GraphView> cursorGraph;
+    private WeakReference<EdgeCursor> cursor;
+
+    public Workspace() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            epochArrays[slot] = new EpochArray();
+            buffers[slot] = new int[0];
+        }
+    }
+
+    /** The calling thread's workspace. */
+    public static Workspace current() {
+        return CURRENT.get();
+    }
+
+    public EpochArray epochArray(int slot) {
+        return epochArrays[slot];
+    }
+
+    /**
+     * Buffer with at least n entries whose contents are undefined.
+     */
+    public int[] buffer(int slot, int n) {
+        if (buffers[slot].length < n) {
+            buffers[slot] = new int[n];
+        }
+        return buffers[slot];
+    }
+
+    /**
+     * A cursor over the graph, reused while the same graph is queried and no
+     * garbage collection has cleared it. The caller keeps it reachable for as
+     * long as it uses it.
+     */
+    public EdgeCursor cursor(GraphView graph) {
+        EdgeCursor cached = cursor == null ? null : cursor.get();
+        if (cached != null && cursorGraph.get() == graph) {
+            return cached;
+        }
+        cached = graph.cursor();
+        if (cursorGraph == null || cursorGraph.get() != graph) {
+            cursorGraph = new WeakReference<>(graph);
+        }
+        cursor = new WeakReference<>(cached);
+        return cached;
+    }
+
+    /**
+     * Drops all arrays and the cached cursor, e.g. before a thread goes idle.
+     */
+    public void release() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            epochArrays[slot] = new EpochArray();
+            buffers[slot] = new int[0];
+        }
+        cursorGraph = null;
+        cursor = null;
+    }
+}
@@ -0,0 +1,171 @@
+import org.example.EdgeListLoader;
+import org.example.Graph;
+import org.example.Main;
+import org.example.Metrics;
+import org.example.distributed.Coordinator;
+import org.example.graph.CsrGraph;
+import org.example.graph.EdgeNormalizer;
+import org.example.graph.GraphView;
+import org.example.graph.dagscp.DAGShortestPath;
+import org.example.graph.scc.Condensation;
+import org.example.graph.scc.TarjanSCC;
+import org.example.graph.topo.TopologicalSort;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the pipeline on local worker processes and compares it with
+ * single-process TarjanSCC and DAGShortestPath. Kept apart from
+ * GraphAlgorithmsTest because it starts JVMs once for all its tests.
+ */
+public class DistributedPipelineTest {
+
+    private static final int WORKERS = 3;
+
+    private static Coordinator coordinator;
+
+    @BeforeAll
+    public static void startWorkers() throws IOException {
+        coordinator = new Coordinator(WORKERS, Collections.singletonList("-Xmx256m"));
+    }
+
+    @AfterAll
+    public static void stopWorkers() {
+        coordinator.close();
+    }
+
+    @Test
+    public void testMatchesSingleProcessOnCyclicGraphs() throws IOException {
+        Random random = new Random(1);
+        // From mostly singletons to one giant SCC
+        for (int m : new int[]{2_000, 3_000, 6_000}) {
+            assertMatchesSingleProcess(randomGraph(3_000, m, random), random.nextInt(3_000));
+        }
+    }
+
+    @Test
+    public void testMatchesSingleProcessOnDagAndSmallGraphs() throws IOException {
+        Random random = new Random(2);
+        Graph dag = new Graph(2_000, true);
+        for (int u = 0; u < 1_999; u++) {
+            for (int k = 0; k < 3; k++) {
+                dag.addEdge(u, u + 1 + random.nextInt(Math.min(50, 1_999 - u)), random.nextInt(10) + 1);
+            }
+        }
+        assertMatchesSingleProcess(dag, 0);
+
+        // Fewer vertices than workers, and a graph without edges
+        Graph cycle = new Graph(2, true);
+        cycle.addEdge(0, 1, 4);
+        cycle.addEdge(1, 0, 2);
+        assertMatchesSingleProcess(cycle, 1);
+        assertMatchesSingleProcess(new Graph(5, true), 3);
+    }
+
+    @Test
+    public void testDefaultSourceMatchesSingleProcess() throws IOException {
+        // Without a source both start from vertex 0's SCC, whatever the numbering
+        Graph graph = randomGraph(3_000, 3_000, new Random(4));
+        Main.PipelineResult single = Main.runPlanned(graph, -1);
+        Main.PipelineResult distributed = coordinator.run(graph, -1);
+        int[] singleOf = componentIndex(single, 3_000);
+        int[] distributedOf = componentIndex(distributed, 3_000);
+        assertEquals(singleOf[0], single.getShortestPaths().source);
+        assertEquals(distributedOf[0], distributed.getShortestPaths().source);
+        for (int v = 0; v < 3_000; v++) {
+            assertEquals(single.getShortestPaths().distances[singleOf[v]],
+                    distributed.getShortestPaths().distances[distributedOf[v]]);
+        }
+        assertSameAsSingleProcess(graph, -1, distributed);
+    }
+
+    @Test
+    public void testStreamsEdgeListWithDuplicatesAndSelfLoops(@TempDir Path dir) throws IOException {
+        Random random = new Random(3);
+        Path file = dir.resolve("graph.txt");
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 12_000; i++) {
+            int u = random.nextInt(4_000);
+            int v = random.nextInt(10) == 0 ? u : random.nextInt(4_000);
+            text.append(u).append(' ').append(v).append(' ').append(random.nextInt(10) + 1).append('\n');
+            if (random.nextInt(8) == 0) {
+                text.append(u).append(' ').append(v).append(' ').append(random.nextInt(10) + 1).append('\n');
+            }
+        }
+        Files.write(file, text.toString().getBytes());
+
+        // Workers normalize their slices exactly as the single-process loader does
+        EdgeNormalizer.Result loaded = new EdgeListLoader().load(file, new EdgeNormalizer());
+        Main.PipelineResult result = coordinator.run(file, 17);
+        assertEquals(loaded.duplicates, coordinator.getDuplicates());
+        assertEquals(loaded.selfLoops, coordinator.getSelfLoops());
+        assertSameAsSingleProcess(loaded.graph, 17, result);
+    }
+
+    private static void assertMatchesSingleProcess(Graph graph, int source) throws IOException {
+        assertSameAsSingleProcess(graph, source, coordinator.run(graph, source));
+    }
+
+    private static void assertSameAsSingleProcess(GraphView graph, int source, Main.PipelineResult result) {
+        int n = graph.getVertexCount();
+        List<List<Integer>> sccs = new TarjanSCC(graph, new Metrics()).findSCCs();
+        int[] componentOf = new int[n];
+        for (int c = 0; c < sccs.size(); c++) {
+            for (int v : sccs.get(c)) componentOf[v] = c;
+        }
+        CsrGraph condensation = Condensation.build(graph, componentOf, sccs.size());
+        List<Integer> order = new TopologicalSort(condensation, new Metrics()).sortKahn();
+        DAGShortestPath paths = new DAGShortestPath(condensation, new Metrics());
+        DAGShortestPath.PathResult shortest = paths.shortestPaths(order, componentOf[Main.sourceVertex(source, n)]);
+        DAGShortestPath.PathResult critical = paths.findCriticalPath(order);
+
+        assertEquals(sorted(sccs), sorted(result.getSccs()));
+        int[] distributedOf = componentIndex(result, n);
+        // Same distance to every vertex's component, whatever the numbering
+        DAGShortestPath.PathResult distributed = result.getShortestPaths();
+        assertEquals(distributedOf[Main.sourceVertex(source, n)], distributed.source);
+        for (int v = 0; v < n; v++) {
+            assertEquals(shortest.distances[componentOf[v]], distributed.distances[distributedOf[v]]);
+        }
+        assertEquals(critical.distances[critical.source], result.criticalPathLength());
+    }
+
+    private static int[] componentIndex(Main.PipelineResult result, int n) {
+        int[] componentOf = new int[n];
+        for (int c = 0; c < result.getSccCount(); c++) {
+            for (int v : result.getSccs().get(c)) componentOf[v] = c;
+        }
+        return componentOf;
+    }
+
+    private static List<List<Integer>> sorted(List<List<Integer>> components) {
+        List<List<Integer>> sorted = new ArrayList<>();
+        for (List<Integer> component : components) {
+            List<Integer> copy = new ArrayList<>(component);
+            Collections.sort(copy);
+            sorted.add(copy);
+        }
+        sorted.sort((a, b) -> Integer.compare(a.get(0), b.get(0)));
+        return sorted;
+    }
+
+    private static Graph randomGraph(int n, int m, Random random) {
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < m; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(10) + 1);
+        }
+        return graph;
+    }
+}
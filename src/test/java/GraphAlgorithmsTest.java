@@ -1,11 +1,36 @@
 import org.example.*;
+import org.example.graph.CompressedGraph;
+import org.example.graph.CsrGraph;
+import org.example.graph.EdgeNormalizer;
+import org.example.graph.EdgeCursor;
 import org.example.graph.dagscp.DAGShortestPath;
+import org.example.graph.dagscp.IncrementalDAGPaths;
+import org.example.graph.dagscp.MonteCarloCriticalPath;
+import org.example.graph.dagscp.ParallelDAGShortestPath;
+import org.example.graph.dagscp.PathMode;
+import org.example.graph.dagscp.PointToPointQuery;
+import org.example.graph.dagscp.PredecessorIndex;
+import org.example.graph.dagscp.TaskDurations;
+import org.example.graph.reach.ReachabilityQuery;
+import org.example.graph.relabel.Relabeling;
+import org.example.graph.scc.KosarajuSCC;
+import org.example.graph.scc.PearceSCC;
 import org.example.graph.scc.TarjanSCC;
+import org.example.graph.sched.IndexedLongHeap;
+import org.example.graph.sched.ListScheduler;
+import org.example.graph.topo.FeedbackArcSet;
 import org.example.graph.topo.TopologicalSort;
+import org.example.graph.wcc.WeakComponents;
+import org.example.graph.workspace.Workspace;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -203,4 +228,1080 @@ public class GraphAlgorithmsTest {
         assertEquals(1, sccs.size());
         assertEquals(1, sccs.get(0).size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIncrementalPathsMatchFullRecomputation() {
+        Random random = new Random(1);
+        Graph graph = randomDag(200, 3, 20, random);
+        List<Integer> topoOrder = new TopologicalSort(graph, new Metrics()).sortKahn();
+        PredecessorIndex index = new PredecessorIndex(graph, topoOrder);
+
+        DAGShortestPath full = new DAGShortestPath(graph, new Metrics());
+        int source = topoOrder.get(3);
+        IncrementalDAGPaths shortest = new IncrementalDAGPaths(graph, index,
+                full.shortestPaths(topoOrder, source), PathMode.SHORTEST, new Metrics());
+        IncrementalDAGPaths longest = new IncrementalDAGPaths(graph, index,
+                full.longestPaths(topoOrder, source), PathMode.LONGEST, new Metrics());
+        IncrementalDAGPaths critical = new IncrementalDAGPaths(graph, index,
+                full.findCriticalPath(topoOrder), PathMode.CRITICAL, new Metrics());
+
+        for (int i = 0; i < 300; i++) {
+            int u = random.nextInt(graph.getVertexCount());
+            if (graph.getNeighbors(u).isEmpty()) continue;
+            int v = graph.getNeighbors(u).get(random.nextInt(graph.getNeighbors(u).size())).to;
+            int w = random.nextInt(20) + 1;
+
+            shortest.updateEdgeWeight(u, v, w);
+            longest.updateEdgeWeight(u, v, w);
+            critical.updateEdgeWeight(u, v, w);
+
+            assertSamePaths(full.shortestPaths(topoOrder, source), shortest.current());
+            assertSamePaths(full.longestPaths(topoOrder, source), longest.current());
+            assertSamePaths(full.findCriticalPath(topoOrder), critical.current());
+        }
+    }
+
+    @Test
+    public void testParallelPathsMatchSequential() {
+        Random random = new Random(2);
+        Graph graph = randomDag(50_000, 3, 50_000, random);
+        List<Integer> topoOrder = new TopologicalSort(graph, new Metrics()).sortKahn();
+
+        DAGShortestPath sequential = new DAGShortestPath(graph, new Metrics());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelDAGShortestPath parallel = new ParallelDAGShortestPath(
+                    new PredecessorIndex(graph, topoOrder), pool, new Metrics());
+            assertTrue(parallel.getMaxLevelWidth() > 4096, "Test graph should have wide levels");
+
+            int source = topoOrder.get(0);
+            assertSamePaths(sequential.shortestPaths(topoOrder, source), parallel.shortestPaths(source));
+            assertSamePaths(sequential.longestPaths(topoOrder, source), parallel.longestPaths(source));
+            assertSamePaths(sequential.findCriticalPath(topoOrder), parallel.findCriticalPath());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchProcessorReportsFailuresPerFile(@TempDir java.nio.file.Path dir) throws Exception {
+        java.nio.file.Files.copy(java.nio.file.Paths.get("data/small_dag_1.json"), dir.resolve("a,\"ok\".json"));
+        java.nio.file.Files.write(dir.resolve("b.json"), "{\"n\": 2, \"edges\": [".getBytes());
+        java.nio.file.Files.write(dir.resolve("c.json"), "{\"directed\": true, \"n\": -1, \"edges\": []}".getBytes());
+        java.nio.file.Files.write(dir.resolve("d.json"), ("{\"directed\": true, \"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2},"
+                + " {\"u\": 0, \"v\": 1, \"w\": 3}, {\"u\": 1, \"v\": 1, \"w\": 1}]}").getBytes());
+        java.nio.file.Path out = dir.resolve("out").resolve("summary.csv");
+        java.nio.file.Files.createDirectories(out.getParent());
+
+        List<java.nio.file.Path> files = BatchProcessor.expand(dir.toString());
+        List<BatchProcessor.Summary> summaries = new BatchProcessor(2, 2).process(files);
+        assertEquals(4, summaries.size());
+        assertTrue(summaries.get(0).isSuccess(), summaries.get(0).error);
+        assertFalse(summaries.get(1).isSuccess());
+        assertFalse(summaries.get(2).isSuccess());
+        // Edges are counted after normalization: the duplicate and the self-loop are gone
+        assertEquals(1, summaries.get(3).edges);
+
+        // File names and errors with commas or quotes stay one CSV field each
+        BatchProcessor.main(new String[]{dir.toString(), "--out", out.toString()});
+        List<String> lines = java.nio.file.Files.readAllLines(out);
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(1).startsWith("\"" + dir.resolve("a,\"\"ok\"\".json") + "\",6,"), lines.get(1));
+    }
+
+    @Test
+    public void testBatchProcessorMatchesSingleThreaded() throws Exception {
+        List<java.nio.file.Path> files = BatchProcessor.expand("data/*.json");
+        assertFalse(files.isEmpty(), "Sample datasets should be found");
+
+        List<BatchProcessor.Summary> concurrent = new BatchProcessor(4, 2).process(files);
+        List<BatchProcessor.Summary> single = new BatchProcessor(1, 1).process(files);
+
+        assertEquals(files.size(), concurrent.size());
+        for (int i = 0; i < files.size(); i++) {
+            assertTrue(concurrent.get(i).isSuccess(), concurrent.get(i).file + ": " + concurrent.get(i).error);
+            assertEquals(single.get(i).file, concurrent.get(i).file);
+            assertEquals(single.get(i).sccCount, concurrent.get(i).sccCount);
+            assertEquals(single.get(i).criticalPathLength, concurrent.get(i).criticalPathLength);
+        }
+    }
+
+    @Test
+    public void testResultCacheHitMatchesComputedResult(@TempDir java.nio.file.Path dir) throws Exception {
+        String file = "data/medium_mixed_1.json";
+        ResultCache cache = new ResultCache(dir, 1L << 20);
+
+        Main.PipelineResult computed = Main.loadOrCompute(file, cache);
+        Main.PipelineResult cached = Main.loadOrCompute(file, cache);
+
+        assertFalse(computed.isFromCache());
+        assertTrue(cached.isFromCache());
+        assertEquals(computed.getVertexCount(), cached.getVertexCount());
+        assertEquals(computed.getSccCount(), cached.getSccCount());
+        assertEquals(computed.criticalPathLength(), cached.criticalPathLength());
+        // Served as read-only views over the mapped entry
+        assertEquals(computed.getSccs(), cached.getSccs());
+        assertThrows(UnsupportedOperationException.class, () -> cached.getSccs().get(0).set(0, -1));
+        assertArrayEquals(computed.getShortestPaths().distances, cached.getShortestPaths().distances);
+
+        // A truncated entry is a miss and is recomputed; it is swapped in by a
+        // move, as the cache does, so the mapping above is left intact
+        try (java.util.stream.Stream<java.nio.file.Path> entries = java.nio.file.Files.list(dir)) {
+            java.nio.file.Path entry = entries.filter(p -> p.toString().endsWith(".bin")).findFirst().orElseThrow();
+            byte[] bytes = java.nio.file.Files.readAllBytes(entry);
+            java.nio.file.Path truncated = dir.resolve("truncated.tmp");
+            java.nio.file.Files.write(truncated, Arrays.copyOf(bytes, bytes.length / 2));
+            java.nio.file.Files.move(truncated, entry, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        }
+        assertFalse(Main.loadOrCompute(file, cache).isFromCache());
+
+        // A budget smaller than one entry evicts it right after it is written
+        ResultCache tiny = new ResultCache(dir.resolve("tiny"), 16);
+        Main.loadOrCompute(file, tiny);
+        assertFalse(Main.loadOrCompute(file, tiny).isFromCache());
+    }
+
+    @Test
+    public void testPearceMatchesTarjan() {
+        Random random = new Random(3);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(300);
+            Graph graph = new Graph(n, true);
+            int m = random.nextInt(3 * n);
+            for (int i = 0; i < m; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), 1);
+            }
+
+            List<List<Integer>> sccs = new TarjanSCC(graph, new Metrics()).findSCCs();
+            PearceSCC pearce = new PearceSCC(graph, new Metrics());
+            int[] componentOf = pearce.findComponents();
+
+            assertEquals(sccs.size(), pearce.getComponentCount());
+            for (int i = 0; i < sccs.size(); i++) {
+                for (int v : sccs.get(i)) {
+                    assertEquals(i, componentOf[v], "Vertex " + v + " in wrong component");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPearceDeepGraph() {
+        // A long cycle would overflow a recursive DFS
+        int n = 200_000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < n; i++) {
+            graph.addEdge(i, (i + 1) % n, 1);
+        }
+
+        PearceSCC pearce = new PearceSCC(graph, new Metrics());
+        int[] componentOf = pearce.findComponents();
+
+        assertEquals(1, pearce.getComponentCount());
+        assertEquals(0, componentOf[n - 1]);
+    }
+
+    @Test
+    public void testFeedbackArcSetBreaksLightestEdge() {
+        // Cycle 0->1->2->3->0 where 3->0 is the lightest dependency
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 5);
+        graph.addEdge(1, 2, 5);
+        graph.addEdge(2, 3, 5);
+        graph.addEdge(3, 0, 1);
+
+        TarjanSCC tarjan = new TarjanSCC(graph, new Metrics());
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        List<Integer> sccOrder = new TopologicalSort(tarjan.buildCondensationGraph(sccs), new Metrics()).sortKahn();
+
+        FeedbackArcSet.Result result = new FeedbackArcSet(graph, new Metrics(), true).orderTasks(sccOrder, sccs);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3), result.taskOrder);
+        assertEquals(1, result.violatedEdges);
+        assertEquals(1, result.violatedWeight);
+    }
+
+    @Test
+    public void testFeedbackArcSetHandlesHugeWeights() {
+        // Weighted degrees far beyond the int range; 3->0 is still the lightest edge
+        Graph graph = new Graph(4, true);
+        int huge = Integer.MAX_VALUE;
+        graph.addEdge(0, 1, huge);
+        graph.addEdge(1, 2, huge);
+        graph.addEdge(2, 3, huge);
+        graph.addEdge(3, 0, 1);
+        graph.addEdge(0, 2, huge - 1);
+        graph.addEdge(1, 3, huge - 1);
+        graph.addEdge(0, 3, huge - 2);
+
+        TarjanSCC tarjan = new TarjanSCC(graph, new Metrics());
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        List<Integer> sccOrder = new TopologicalSort(tarjan.buildCondensationGraph(sccs), new Metrics()).sortKahn();
+
+        FeedbackArcSet.Result result = new FeedbackArcSet(graph, new Metrics(), true).orderTasks(sccOrder, sccs);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3), result.taskOrder);
+        assertEquals(1, result.violatedEdges);
+        assertEquals(1, result.violatedWeight);
+    }
+
+    @Test
+    public void testFeedbackArcSetOrderIsValid() {
+        Random random = new Random(4);
+        int n = 500;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < 4 * n; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(10) + 1);
+        }
+
+        TarjanSCC tarjan = new TarjanSCC(graph, new Metrics());
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        List<Integer> sccOrder = new TopologicalSort(tarjan.buildCondensationGraph(sccs), new Metrics()).sortKahn();
+        List<Integer> naive = TopologicalSort.deriveTaskOrder(sccOrder, sccs);
+
+        FeedbackArcSet.Result result = new FeedbackArcSet(graph, new Metrics(), false).orderTasks(sccOrder, sccs);
+
+        // Same tasks, same SCC blocks, never more violations than the pop order
+        assertEquals(n, result.taskOrder.size());
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) position[result.taskOrder.get(i)] = i;
+        int naiveViolations = 0;
+        int violations = 0;
+        for (int u = 0; u < n; u++) {
+            for (Graph.Edge edge : graph.getNeighbors(u)) {
+                if (edge.to == u) continue;
+                if (position[u] > position[edge.to]) violations++;
+                if (naive.indexOf(u) > naive.indexOf(edge.to)) naiveViolations++;
+            }
+        }
+        assertEquals(violations, result.violatedEdges);
+        assertTrue(violations <= naiveViolations);
+        for (int i = 0; i < n; i++) {
+            assertEquals(sccOfIn(sccs, naive.get(i)), sccOfIn(sccs, result.taskOrder.get(i)));
+        }
+    }
+
+    @Test
+    public void testCsrTransposeMatchesGraphTranspose() {
+        Graph graph = randomGraph(2000, 8000, new Random(8));
+        Graph expected = graph.getTranspose();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        CsrGraph transpose = CsrGraph.from(graph).transpose(pool);
+        pool.shutdown();
+
+        assertEquals(expected.getEdgeCount(), transpose.getEdgeCount());
+        for (int v = 0; v < expected.getVertexCount(); v++) {
+            assertEquals(expected.getOutDegree(v), transpose.getOutDegree(v));
+            for (int i = 0; i < expected.getOutDegree(v); i++) {
+                assertEquals(expected.getTarget(v, i), transpose.getTarget(v, i));
+                assertEquals(expected.getWeight(v, i), transpose.getWeight(v, i));
+            }
+        }
+    }
+
+    @Test
+    public void testKosarajuMatchesTarjan() {
+        Random random = new Random(9);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(300);
+            Graph graph = randomGraph(n, random.nextInt(3 * n), random);
+
+            List<List<Integer>> sccs = new TarjanSCC(graph, new Metrics()).findSCCs();
+            KosarajuSCC kosaraju = new KosarajuSCC(graph, new Metrics());
+            int[] componentOf = kosaraju.findComponents();
+
+            assertEquals(sccs.size(), kosaraju.getComponentCount());
+            for (List<Integer> scc : sccs) {
+                for (int v : scc) {
+                    assertEquals(componentOf[scc.get(0)], componentOf[v], "Vertex " + v + " split from its SCC");
+                }
+            }
+            // Reverse topological numbering: edges never point to a higher component
+            for (int u = 0; u < n; u++) {
+                for (Graph.Edge edge : graph.getNeighbors(u)) {
+                    assertTrue(componentOf[u] >= componentOf[edge.to]);
+                }
+            }
+        }
+    }
+
+    private static int sccOfIn(List<List<Integer>> sccs, int v) {
+        for (int i = 0; i < sccs.size(); i++) {
+            if (sccs.get(i).contains(v)) return i;
+        }
+        return -1;
+    }
+
+    @Test
+    public void testCompressedGraphPreservesEdges() {
+        Random random = new Random(5);
+        int n = 1000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < 5 * n; i++) {
+            int u = random.nextInt(n);
+            // Mix of local and far targets, negative weights and parallel arcs
+            int v = random.nextBoolean() ? random.nextInt(n) : Math.max(0, u - random.nextInt(10));
+            graph.addEdge(u, v, random.nextInt(2001) - 1000);
+        }
+
+        CompressedGraph compressed = CompressedGraph.compress(graph);
+        assertEquals(graph.getEdgeCount(), compressed.getEdgeCount());
+
+        EdgeCursor it = compressed.cursor();
+        for (int u = 0; u < n; u++) {
+            List<Long> expected = new ArrayList<>();
+            for (Graph.Edge edge : graph.getNeighbors(u)) {
+                expected.add(((long) edge.to << 32) | (edge.weight & 0xFFFFFFFFL));
+            }
+            List<Long> actual = new ArrayList<>();
+            it.reset(u);
+            while (it.next()) {
+                actual.add(((long) it.target() << 32) | (it.weight() & 0xFFFFFFFFL));
+            }
+            Collections.sort(expected);
+            assertEquals(expected, actual, "Neighbors of " + u);
+            assertEquals(expected.size(), compressed.getOutDegree(u));
+        }
+    }
+
+    @Test
+    public void testAlgorithmsOnCompressedGraph() {
+        Random random = new Random(6);
+        Graph dag = randomDag(2000, 3, 50, random);
+        CompressedGraph compressed = CompressedGraph.compress(dag);
+
+        List<Integer> order = new TopologicalSort(compressed, new Metrics()).sortKahn();
+        assertNotNull(order);
+        assertEquals(2000, new TarjanSCC(compressed, new Metrics()).findSCCs().size());
+
+        // Neighbor order differs, so compare distances only
+        List<Integer> reference = new TopologicalSort(dag, new Metrics()).sortKahn();
+        int source = reference.get(0);
+        assertArrayEquals(new DAGShortestPath(dag, new Metrics()).shortestPaths(reference, source).distances,
+                new DAGShortestPath(compressed, new Metrics()).shortestPaths(order, source).distances);
+        assertArrayEquals(new DAGShortestPath(dag, new Metrics()).findCriticalPath(reference).distances,
+                new DAGShortestPath(compressed, new Metrics()).findCriticalPath(order).distances);
+    }
+
+    @Test
+    public void testEdgeListLoaderMatchesGraph(@TempDir java.nio.file.Path dir) throws Exception {
+        Graph graph = randomDag(100_000, 3, 50, new Random(11));
+        graph.addEdge(7, 7, -4);
+        java.nio.file.Path file = dir.resolve("graph.txt");
+        StringBuilder text = new StringBuilder("# u v w\n");
+        for (int u = 0; u < graph.getVertexCount(); u++) {
+            for (Graph.Edge edge : graph.getNeighbors(u)) {
+                // Mix separators, line endings and the default weight
+                text.append(u).append(u % 2 == 0 ? " " : "\t").append(edge.to);
+                text.append(edge.weight == 1 ? "" : " " + edge.weight).append(u % 3 == 0 ? "\r\n" : "\n");
+            }
+        }
+        java.nio.file.Files.write(file, text.toString().getBytes());
+
+        // Several chunks and partitions: edge order must not depend on the thread count
+        ForkJoinPool pool = new ForkJoinPool(4);
+        CsrGraph parallel = new EdgeListLoader(pool).load(file);
+        pool.shutdown();
+        CsrGraph sequential = new EdgeListLoader(new ForkJoinPool(1)).load(file);
+
+        for (CsrGraph csr : Arrays.asList(parallel, sequential)) {
+            assertEquals(graph.getVertexCount(), csr.getVertexCount());
+            assertEquals(graph.getEdgeCount(), csr.getEdgeCount());
+            for (int u = 0; u < graph.getVertexCount(); u++) {
+                assertEquals(graph.getOutDegree(u), csr.getOutDegree(u));
+                for (int i = 0; i < graph.getOutDegree(u); i++) {
+                    assertEquals(graph.getTarget(u, i), csr.getTarget(u, i));
+                    assertEquals(graph.getWeight(u, i), csr.getWeight(u, i));
+                }
+            }
+        }
+
+        java.nio.file.Files.write(file, "0 1 2\n1 x 3\n".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> new EdgeListLoader().load(file));
+
+        // Ids whose count would overflow the vertex arrays; weights keep the full int range
+        java.nio.file.Files.write(file, "0 2147483647\n".getBytes());
+        IllegalArgumentException tooLarge = assertThrows(IllegalArgumentException.class,
+                () -> new EdgeListLoader().load(file));
+        assertTrue(tooLarge.getMessage().contains("vertex id out of range"), tooLarge.getMessage());
+        java.nio.file.Files.write(file, "0 1 2147483647\n1 0 -2147483648\n".getBytes());
+        CsrGraph extremes = new EdgeListLoader().load(file);
+        assertEquals(Integer.MAX_VALUE, extremes.getWeight(0, 0));
+        assertEquals(Integer.MIN_VALUE, extremes.getWeight(1, 0));
+    }
+
+    @Test
+    public void testPlannerChoices() {
+        assertSame(PipelineOptions.REFERENCE, Planner.plan(GraphStats.compute(randomGraph(50, 100, new Random(1)))));
+
+        GraphStats cyclic = GraphStats.compute(randomGraph(5000, 15000, new Random(2)));
+        assertFalse(cyclic.dag);
+        PipelineOptions options = Planner.plan(cyclic, 8);
+        assertEquals(PipelineOptions.Layout.CSR, options.layout);
+        assertEquals(PipelineOptions.SccEngine.PEARCE, options.sccEngine);
+        assertEquals(PipelineOptions.PathDp.SEQUENTIAL, options.pathDp);
+
+        // 4 levels of 20000: wide enough for the parallel DP, but only with several cores
+        Graph layered = new Graph(80_000, true);
+        for (int v = 0; v < 60_000; v++) {
+            layered.addEdge(v, v + 20_000, 1);
+        }
+        GraphStats wide = GraphStats.compute(layered);
+        assertTrue(wide.dag);
+        assertEquals(4, wide.depth);
+        assertEquals(PipelineOptions.SccEngine.NONE, Planner.plan(wide, 8).sccEngine);
+        assertEquals(PipelineOptions.PathDp.PARALLEL, Planner.plan(wide, 8).pathDp);
+        assertEquals(PipelineOptions.PathDp.SEQUENTIAL, Planner.plan(wide, 1).pathDp);
+    }
+
+    @Test
+    public void testAllEngineChoicesAgree() {
+        Random random = new Random(12);
+        for (Graph graph : Arrays.asList(randomGraph(400, 700, random), randomDag(400, 3, 20, random))) {
+            GraphStats stats = GraphStats.compute(graph);
+            Main.PipelineResult reference = Main.runPipeline(graph, 0, stats, PipelineOptions.REFERENCE);
+            int[] referenceScc = componentIndex(reference.getSccs(), graph.getVertexCount());
+
+            for (PipelineOptions.Layout layout : PipelineOptions.Layout.values()) {
+                for (PipelineOptions.SccEngine scc : PipelineOptions.SccEngine.values()) {
+                    if (scc == PipelineOptions.SccEngine.NONE && !stats.dag) continue;
+                    for (PipelineOptions.TopoVariant topo : PipelineOptions.TopoVariant.values()) {
+                        for (PipelineOptions.PathDp dp : PipelineOptions.PathDp.values()) {
+                            PipelineOptions options = new PipelineOptions(layout, scc, topo, dp);
+                            Main.PipelineResult result = Main.runPipeline(graph, 0, stats, options);
+                            int[] resultScc = componentIndex(result.getSccs(), graph.getVertexCount());
+
+                            assertEquals(reference.getSccCount(), result.getSccCount(), options.toString());
+                            assertEquals(reference.criticalPathLength(), result.criticalPathLength(), options.toString());
+                            for (int v = 0; v < graph.getVertexCount(); v++) {
+                                assertEquals(reference.getShortestPaths().distances[referenceScc[v]],
+                                        result.getShortestPaths().distances[resultScc[v]], options + ", vertex " + v);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] componentIndex(List<List<Integer>> sccs, int n) {
+        int[] componentOf = new int[n];
+        for (int i = 0; i < sccs.size(); i++) {
+            for (int v : sccs.get(i)) {
+                componentOf[v] = i;
+            }
+        }
+        return componentOf;
+    }
+
+    @Test
+    public void testReachabilityMatchesSimpleBfs() {
+        Random random = new Random(13);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        // Sparse graphs stay top-down; the dense one switches to bottom-up steps
+        for (int avgDegree : new int[]{1, 2, 8}) {
+            int n = 100_000;
+            Graph graph = randomGraph(n, n * avgDegree, random);
+            ReachabilityQuery query = new ReachabilityQuery(graph, pool);
+            Graph transpose = graph.getTranspose();
+
+            int[] sources = {random.nextInt(n), random.nextInt(n), random.nextInt(n)};
+            assertEquals(simpleBfs(graph, sources), query.descendants(sources));
+            assertEquals(simpleBfs(transpose, sources), query.ancestors(sources));
+            assertArrayEquals(simpleBfs(graph, sources).stream().toArray(), query.descendantIds(sources));
+        }
+        pool.shutdown();
+
+        // 0 -> 1 -> 2, 3 -> 0: a source is only included when reached from another one
+        Graph chain = new Graph(4, true);
+        chain.addEdge(0, 1, 1);
+        chain.addEdge(1, 2, 1);
+        chain.addEdge(3, 0, 1);
+        ReachabilityQuery query = new ReachabilityQuery(chain);
+        assertArrayEquals(new int[]{1, 2}, query.descendantIds(0));
+        assertArrayEquals(new int[]{0, 1, 2}, query.descendantIds(0, 3));
+        assertArrayEquals(new int[]{0, 1, 3}, query.ancestorIds(2));
+        assertArrayEquals(new int[0], query.ancestorIds(3));
+    }
+
+    @Test
+    public void testMonteCarloCriticalPath() {
+        // Diamond 0 -> {1, 2} -> 3 with fixed durations: 0-1-3 is always critical
+        Graph diamond = new Graph(4, true);
+        diamond.addEdge(0, 1, 1);
+        diamond.addEdge(0, 2, 1);
+        diamond.addEdge(1, 3, 1);
+        diamond.addEdge(2, 3, 1);
+        double[] fixed = {2, 5, 3, 1};
+        PredecessorIndex diamondIndex = new PredecessorIndex(diamond, Arrays.asList(0, 1, 2, 3));
+        MonteCarloCriticalPath.Result exact = new MonteCarloCriticalPath(diamondIndex,
+                new TaskDurations(fixed, fixed, fixed, TaskDurations.Distribution.PERT_BETA)).run(100, 1);
+        assertEquals(8.0, exact.percentile(0));
+        assertEquals(8.0, exact.percentile(100));
+        assertArrayEquals(new double[]{1, 1, 0, 1}, exact.criticality);
+
+        // Sample means of a single task match the three-point formulas
+        Graph single = new Graph(1, true);
+        PredecessorIndex singleIndex = new PredecessorIndex(single, Collections.singletonList(0));
+        double[] min = {1};
+        double[] mode = {2};
+        double[] max = {6};
+        MonteCarloCriticalPath.Result triangular = new MonteCarloCriticalPath(singleIndex,
+                new TaskDurations(min, mode, max, TaskDurations.Distribution.TRIANGULAR)).run(200_000, 2);
+        assertEquals(3.0, triangular.mean(), 0.01);
+        MonteCarloCriticalPath.Result pert = new MonteCarloCriticalPath(singleIndex,
+                new TaskDurations(min, mode, max, TaskDurations.Distribution.PERT_BETA)).run(200_000, 3);
+        assertEquals(2.5, pert.mean(), 0.01);
+        assertTrue(pert.percentile(0) >= 1 && pert.percentile(100) <= 6);
+
+        // The seed alone determines the result, whatever the pool size
+        Random random = new Random(4);
+        int n = 2_000;
+        Graph graph = randomDag(n, 3, 100, random);
+        PredecessorIndex index = new PredecessorIndex(graph, new TopologicalSort(graph, new Metrics()).sortKahn());
+        double[] low = new double[n];
+        double[] likely = new double[n];
+        double[] high = new double[n];
+        for (int v = 0; v < n; v++) {
+            likely[v] = 1 + random.nextInt(10);
+            low[v] = 0.5 * likely[v];
+            high[v] = 2 * likely[v];
+        }
+        TaskDurations durations = new TaskDurations(low, likely, high, TaskDurations.Distribution.PERT_BETA);
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            MonteCarloCriticalPath.Result a = new MonteCarloCriticalPath(index, durations, one).run(500, 5);
+            MonteCarloCriticalPath.Result b = new MonteCarloCriticalPath(index, durations, four).run(500, 5);
+            assertArrayEquals(a.completionTimes, b.completionTimes);
+            assertArrayEquals(a.criticality, b.criticality);
+            assertTrue(a.percentile(95) >= a.percentile(50));
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new TaskDurations(
+                new double[]{3}, new double[]{2}, new double[]{4}, TaskDurations.Distribution.TRIANGULAR));
+
+        // Mode at the minimum is Beta(1, 5), whose density is 5 at x = 0; quantiles are 1 - (1 - u)^(1/5)
+        TaskDurations skewed = new TaskDurations(new double[]{0}, new double[]{0}, new double[]{1},
+                TaskDurations.Distribution.PERT_BETA);
+        for (long seed = 0; seed < 2_000; seed++) {
+            double u = new java.util.SplittableRandom(seed).nextDouble();
+            if (u > 0.9) continue;
+            assertEquals(1 - Math.pow(1 - u, 0.2), skewed.sample(0, new java.util.SplittableRandom(seed)), 5e-6);
+        }
+    }
+
+    @Test
+    public void testIndexedLongHeapMatchesPriorityQueue() {
+        Random random = new Random(6);
+        int n = 10_000;
+        IndexedLongHeap heap = new IndexedLongHeap(n);
+        java.util.PriorityQueue<long[]> reference = new java.util.PriorityQueue<>(
+                (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        for (int step = 0; step < 50_000; step++) {
+            int item = random.nextInt(n);
+            long key = random.nextInt(100);
+            if (!heap.contains(item)) {
+                heap.add(item, key);
+                reference.add(new long[]{key, item});
+            } else if (random.nextBoolean()) {
+                reference.removeIf(e -> e[1] == item);
+                heap.update(item, key);
+                reference.add(new long[]{key, item});
+            } else if (random.nextInt(4) == 0) {
+                reference.removeIf(e -> e[1] == item);
+                heap.remove(item);
+            } else {
+                long[] top = reference.poll();
+                assertEquals(top[0], heap.peekKey());
+                assertEquals((int) top[1], heap.poll());
+            }
+            assertEquals(reference.size(), heap.size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> heap.add(heap.peek(), 0));
+    }
+
+    @Test
+    public void testListScheduler() {
+        // 0 -> 2, 1 -> 2, 1 -> 3: task 1 heads the longer chain, so it starts first on one worker
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(1, 3, 1);
+        int[] durations = {2, 3, 4, 1};
+        List<Integer> order = Arrays.asList(0, 1, 2, 3);
+        assertArrayEquals(new long[]{6, 7, 4, 1},
+                new DAGShortestPath(graph, new Metrics()).bottomLevels(order, durations));
+
+        ListScheduler.Schedule one = new ListScheduler(graph, new Metrics()).schedule(order, durations, 1);
+        assertArrayEquals(new long[]{3, 0, 5, 9}, one.start);
+        assertEquals(10, one.makespan);
+        ListScheduler.Schedule two = new ListScheduler(graph, new Metrics()).schedule(order, durations, 2);
+        assertArrayEquals(new long[]{0, 0, 3, 3}, two.start);
+        assertEquals(7, two.makespan);
+
+        // Random DAGs: precedence holds, workers never overlap, makespan within the bounds
+        Random random = new Random(7);
+        int n = 5_000;
+        Graph dag = randomDag(n, 3, 200, random);
+        List<Integer> topoOrder = new TopologicalSort(dag, new Metrics()).sortKahn();
+        int[] randomDurations = new int[n];
+        long work = 0;
+        for (int v = 0; v < n; v++) {
+            randomDurations[v] = random.nextInt(20);
+            work += randomDurations[v];
+        }
+        long chain = Arrays.stream(new DAGShortestPath(dag, new Metrics()).bottomLevels(topoOrder, randomDurations))
+                .max().getAsLong();
+        for (int workers : new int[]{1, 8, n}) {
+            ListScheduler.Schedule schedule = new ListScheduler(dag, new Metrics()).schedule(topoOrder, randomDurations, workers);
+            for (int u = 0; u < n; u++) {
+                assertEquals(schedule.start[u] + randomDurations[u], schedule.finish[u]);
+                for (Graph.Edge edge : dag.getNeighbors(u)) {
+                    assertTrue(schedule.finish[u] <= schedule.start[edge.to]);
+                }
+            }
+            List<Integer> byStart = new ArrayList<>(topoOrder);
+            // Zero-length tasks first among equal starts
+            byStart.sort((a, b) -> schedule.start[a] != schedule.start[b]
+                    ? Long.compare(schedule.start[a], schedule.start[b])
+                    : Long.compare(schedule.finish[a], schedule.finish[b]));
+            long[] freeAt = new long[workers];
+            for (int v : byStart) {
+                assertTrue(freeAt[schedule.worker[v]] <= schedule.start[v]);
+                freeAt[schedule.worker[v]] = schedule.finish[v];
+            }
+            assertTrue(schedule.makespan >= Math.max(chain, (work + workers - 1) / workers));
+        }
+        assertEquals(work, new ListScheduler(dag, new Metrics()).schedule(topoOrder, randomDurations, 1).makespan);
+        assertEquals(chain, new ListScheduler(dag, new Metrics()).schedule(topoOrder, randomDurations, n).makespan);
+
+        Graph cycle = new Graph(2, true);
+        cycle.addEdge(0, 1, 1);
+        cycle.addEdge(1, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> new ListScheduler(cycle, new Metrics())
+                .schedule(Arrays.asList(0, 1), new int[]{1, 1}, 2));
+    }
+
+    @Test
+    public void testWeakComponents() {
+        Random random = new Random(8);
+        int n = 50_000;
+        Graph graph = randomGraph(n, n / 2, random);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        WeakComponents weak = new WeakComponents(graph, pool);
+        int[] componentOf = weak.findComponents();
+        pool.shutdown();
+
+        // Reference: BFS over both edge directions, components numbered by smallest vertex
+        Graph undirected = new Graph(n, true);
+        for (int u = 0; u < n; u++) {
+            for (Graph.Edge edge : graph.getNeighbors(u)) {
+                undirected.addEdge(u, edge.to, 1);
+                undirected.addEdge(edge.to, u, 1);
+            }
+        }
+        int[] expected = new int[n];
+        Arrays.fill(expected, -1);
+        int count = 0;
+        for (int s = 0; s < n; s++) {
+            if (expected[s] != -1) continue;
+            java.util.BitSet reached = simpleBfs(undirected, new int[]{s});
+            reached.set(s);
+            for (int v = reached.nextSetBit(0); v >= 0; v = reached.nextSetBit(v + 1)) {
+                expected[v] = count;
+            }
+            count++;
+        }
+        assertArrayEquals(expected, componentOf);
+        assertEquals(count, weak.getComponentCount());
+        assertEquals(n, Arrays.stream(weak.getComponentSizes()).sum());
+    }
+
+    @Test
+    public void testPartitionedPipelineMatchesWholeGraph() {
+        // 40 disjoint random graphs, interleaved so that no component has consecutive ids
+        Random random = new Random(9);
+        int components = 40;
+        int size = 500;
+        int n = components * size;
+        Graph graph = new Graph(n, true);
+        for (int u = 0; u < n; u++) {
+            for (int k = 0; k < 2; k++) {
+                graph.addEdge(u, u % components + components * random.nextInt(size), random.nextInt(10) + 1);
+            }
+        }
+        WeakComponents weak = new WeakComponents(graph);
+        int[] componentOf = weak.findComponents();
+        assertEquals(components, weak.getComponentCount());
+
+        int source = 123;
+        Main.PipelineResult whole = Main.runPlannedWhole(graph, source);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Main.PipelineResult parts = new PartitionedPipeline(graph, componentOf, components, pool).run(source);
+        pool.shutdown();
+
+        assertEquals(n, parts.getVertexCount());
+        assertEquals(sortedComponents(whole.getSccs()), sortedComponents(parts.getSccs()));
+        assertEquals(whole.criticalPathLength(), parts.criticalPathLength());
+        assertEquals(finiteSorted(whole.getShortestPaths().distances), finiteSorted(parts.getShortestPaths().distances));
+        int sourceScc = parts.getShortestPaths().source;
+        assertTrue(parts.getSccs().get(sourceScc).contains(source));
+        assertEquals(0, parts.getShortestPaths().distances[sourceScc]);
+    }
+
+    @Test
+    public void testPartitionedPipelineIgnoresPoolSize() {
+        // Enough vertices for more groups than the minimum size allows on one thread
+        Random random = new Random(10);
+        int components = 100;
+        int size = 3_000;
+        int n = components * size;
+        Graph graph = new Graph(n, true);
+        for (int u = 0; u < n; u++) {
+            for (int k = 0; k < 2; k++) {
+                graph.addEdge(u, u % components + components * random.nextInt(size), random.nextInt(10) + 1);
+            }
+        }
+        WeakComponents weak = new WeakComponents(graph);
+        int[] componentOf = weak.findComponents();
+
+        // Same numbering on any pool, so cached results do not depend on the machine
+        List<List<Integer>> first = null;
+        int[] distances = null;
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            Main.PipelineResult result = new PartitionedPipeline(graph, componentOf, weak.getComponentCount(), pool).run(7);
+            pool.shutdown();
+            if (first == null) {
+                first = result.getSccs();
+                distances = result.getShortestPaths().distances;
+            } else {
+                assertTrue(first.equals(result.getSccs()), "SCC numbering depends on the pool size");
+                assertTrue(Arrays.equals(distances, result.getShortestPaths().distances));
+            }
+        }
+    }
+
+    private static List<List<Integer>> sortedComponents(List<List<Integer>> sccs) {
+        List<List<Integer>> sorted = new ArrayList<>();
+        for (List<Integer> scc : sccs) {
+            List<Integer> copy = new ArrayList<>(scc);
+            Collections.sort(copy);
+            sorted.add(copy);
+        }
+        sorted.sort((a, b) -> Integer.compare(a.get(0), b.get(0)));
+        return sorted;
+    }
+
+    private static List<Integer> finiteSorted(int[] distances) {
+        List<Integer> finite = new ArrayList<>();
+        for (int d : distances) {
+            if (d != Integer.MAX_VALUE) finite.add(d);
+        }
+        Collections.sort(finite);
+        return finite;
+    }
+
+    @Test
+    public void testRelabelingPermutesGraph() {
+        Random random = new Random(10);
+        int n = 3_000;
+        Graph dag = randomDag(n, 3, 50, random);
+        Graph cyclic = randomGraph(n, 3 * n, random);
+        for (Relabeling.Strategy strategy : Relabeling.Strategy.values()) {
+            for (Graph graph : new Graph[]{dag, cyclic}) {
+                Relabeling relabeling = Relabeling.compute(graph, strategy);
+                int[] sorted = relabeling.order.clone();
+                Arrays.sort(sorted);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(i, sorted[i]);
+                    assertEquals(i, relabeling.rank[relabeling.order[i]]);
+                }
+                // Every vertex keeps its edges, in order, under the new ids
+                for (int u = 0; u < n; u++) {
+                    List<Graph.Edge> edges = graph.getNeighbors(u);
+                    int r = relabeling.toRelabeled(u);
+                    assertEquals(edges.size(), relabeling.graph.getOutDegree(r));
+                    for (int i = 0; i < edges.size(); i++) {
+                        assertEquals(relabeling.toRelabeled(edges.get(i).to), relabeling.graph.getTarget(r, i));
+                        assertEquals(edges.get(i).weight, relabeling.graph.getWeight(r, i));
+                    }
+                }
+            }
+        }
+
+        // A topological relabeling of a DAG makes every edge point forward
+        CsrGraph topological = Relabeling.compute(dag, Relabeling.Strategy.TOPOLOGICAL).graph;
+        for (int u = 0; u < n; u++) {
+            for (int i = 0; i < topological.getOutDegree(u); i++) {
+                assertTrue(topological.getTarget(u, i) > u);
+            }
+        }
+    }
+
+    @Test
+    public void testRelabeledPipelineMatchesInputIds() {
+        Random random = new Random(11);
+        int n = 5_000;
+        Graph graph = randomGraph(n, n + n / 2, random);
+        GraphStats stats = GraphStats.compute(graph);
+        PipelineOptions base = new PipelineOptions(PipelineOptions.Layout.CSR, PipelineOptions.SccEngine.PEARCE,
+                PipelineOptions.TopoVariant.KAHN, PipelineOptions.PathDp.SEQUENTIAL);
+        int source = 42;
+        Main.PipelineResult expected = Main.runPipeline(graph, source, stats, base);
+        for (PipelineOptions.Relabel relabel : PipelineOptions.Relabel.values()) {
+            Main.PipelineResult actual = Main.runPipeline(graph, source, stats, base.withRelabel(relabel));
+            assertEquals(sortedComponents(expected.getSccs()), sortedComponents(actual.getSccs()), relabel.name());
+            assertEquals(expected.criticalPathLength(), actual.criticalPathLength());
+            assertEquals(finiteSorted(expected.getShortestPaths().distances),
+                    finiteSorted(actual.getShortestPaths().distances));
+            assertTrue(actual.getSccs().get(actual.getShortestPaths().source).contains(source));
+        }
+
+        // DAG path with the planner's choice: no SCC engine, topological relabeling from the stats order
+        Graph dag = randomDag(n, 3, 100, random);
+        GraphStats dagStats = GraphStats.compute(dag);
+        PipelineOptions dagOptions = new PipelineOptions(PipelineOptions.Layout.CSR, PipelineOptions.SccEngine.NONE,
+                PipelineOptions.TopoVariant.KAHN, PipelineOptions.PathDp.SEQUENTIAL);
+        Main.PipelineResult plain = Main.runPipeline(dag, -1, dagStats, dagOptions);
+        Main.PipelineResult relabeled = Main.runPipeline(dag, -1, dagStats, dagOptions.withRelabel(PipelineOptions.Relabel.TOPOLOGICAL));
+        assertEquals(plain.getSccs(), relabeled.getSccs());
+        assertEquals(plain.criticalPathLength(), relabeled.criticalPathLength());
+    }
+
+    @Test
+    public void testWorkspaceVariantsMatchAllocatingOnes() {
+        Random random = new Random(12);
+        Workspace workspace = new Workspace();
+        // Alternate sizes so the epoch arrays see stale entries beyond a smaller n
+        for (int n : new int[]{2_000, 300, 2_000, 50, 1_000}) {
+            Graph cyclic = randomGraph(n, 2 * n, random);
+            List<List<Integer>> sccs = new TarjanSCC(cyclic, new Metrics()).findSCCs();
+            int[] componentOf = new int[n];
+            assertEquals(sccs.size(), new TarjanSCC(cyclic, new Metrics()).findComponents(workspace, componentOf));
+            for (int c = 0; c < sccs.size(); c++) {
+                for (int v : sccs.get(c)) {
+                    assertEquals(c, componentOf[v]);
+                }
+            }
+            assertTrue(new TopologicalSort(cyclic, new Metrics()).sortKahn(workspace, new int[n]) < n);
+
+            Graph dag = randomDag(n, 3, 20, random);
+            List<Integer> expectedOrder = new TopologicalSort(dag, new Metrics()).sortKahn();
+            int[] order = new int[n];
+            assertEquals(n, new TopologicalSort(dag, new Metrics()).sortKahn(workspace, order));
+            for (int i = 0; i < n; i++) {
+                assertEquals((int) expectedOrder.get(i), order[i]);
+            }
+            int source = expectedOrder.get(n / 4);
+            DAGShortestPath paths = new DAGShortestPath(dag, new Metrics());
+            assertSamePaths(paths.shortestPaths(expectedOrder, source),
+                    paths.shortestPaths(order, n, source, workspace).toPathResult(n));
+        }
+
+        // A cyclic graph's partial order, with stale entries after it, is rejected
+        Graph cycle = new Graph(3, true);
+        cycle.addEdge(0, 1, 1);
+        cycle.addEdge(1, 2, 1);
+        cycle.addEdge(2, 1, 1);
+        int[] partial = {2, 2, 2};
+        int count = new TopologicalSort(cycle, new Metrics()).sortKahn(workspace, partial);
+        assertEquals(1, count);
+        DAGShortestPath cyclicPaths = new DAGShortestPath(cycle, new Metrics());
+        assertThrows(IllegalArgumentException.class, () -> cyclicPaths.shortestPaths(partial, count, 2, workspace));
+        Graph chain = new Graph(3, true);
+        chain.addEdge(0, 1, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> new DAGShortestPath(chain, new Metrics()).shortestPaths(new int[]{0, 1, 2}, 3, 7, workspace));
+    }
+
+    @Test
+    public void testPointToPointMatchesFullSweep() {
+        Random random = new Random(13);
+        // In a narrow window the ancestors fill the slice and most queries fall back to
+        // the slice sweep; in a wide one they stay pruned
+        for (int window : new int[]{5, 400}) {
+            int n = 2_000;
+            Graph dag = randomDag(n, 2, window, random);
+            List<Integer> order = new TopologicalSort(dag, new Metrics()).sortKahn();
+            DAGShortestPath sweep = new DAGShortestPath(dag, new Metrics());
+            PointToPointQuery query = new PointToPointQuery(new PredecessorIndex(dag, order), new Metrics());
+            for (int q = 0; q < 200; q++) {
+                int source = random.nextInt(n);
+                int target = q % 10 == 0 ? source : random.nextInt(n);
+                DAGShortestPath.PathResult expected = sweep.shortestPaths(order, source);
+                PointToPointQuery.Result actual = query.query(source, target);
+                assertEquals(expected.distances[target], actual.distance);
+                assertEquals(expected.reconstructPath(target), actual.path);
+                assertEquals(actual.path != null, actual.isReachable());
+            }
+        }
+    }
+
+    @Test
+    public void testEdgeNormalizerMatchesNaiveMerge() {
+        Random random = new Random(23);
+        int n = 3_000;
+        int m = 300_000;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            // Dense enough for many duplicates, with some self-loops and bad ids
+            sources[e] = random.nextInt(n + 2) - 1;
+            targets[e] = random.nextInt(n);
+            weights[e] = random.nextInt(2_000_000_000) - 1_000_000_000;
+        }
+        sources[5] = n;
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (EdgeNormalizer.DuplicatePolicy policy : EdgeNormalizer.DuplicatePolicy.values()) {
+            for (boolean keepSelfLoops : new boolean[]{false, true}) {
+                EdgeNormalizer.Result result = new EdgeNormalizer(policy, keepSelfLoops, pool)
+                        .normalize(n, sources, targets, weights, m);
+
+                // Reference: per source, targets in order of first appearance with merged weights
+                List<java.util.LinkedHashMap<Integer, Long>> merged = new ArrayList<>();
+                List<List<int[]>> kept = new ArrayList<>();
+                for (int u = 0; u < n; u++) {
+                    merged.add(new java.util.LinkedHashMap<>());
+                    kept.add(new ArrayList<>());
+                }
+                int outOfRange = 0;
+                int selfLoops = 0;
+                int duplicates = 0;
+                int firstOutOfRange = -1;
+                for (int e = 0; e < m; e++) {
+                    int u = sources[e];
+                    int v = targets[e];
+                    if (u < 0 || u >= n) {
+                        if (outOfRange++ == 0) firstOutOfRange = e;
+                        continue;
+                    }
+                    if (u == v && !keepSelfLoops) {
+                        selfLoops++;
+                        continue;
+                    }
+                    if (policy == EdgeNormalizer.DuplicatePolicy.KEEP) {
+                        kept.get(u).add(new int[]{v, weights[e]});
+                        continue;
+                    }
+                    Long previous = merged.get(u).get(v);
+                    long w = weights[e];
+                    if (previous != null) {
+                        duplicates++;
+                        switch (policy) {
+                            case FIRST: w = previous; break;
+                            case MIN: w = Math.min(previous, w); break;
+                            case MAX: w = Math.max(previous, w); break;
+                            default: w = Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, previous + w));
+                        }
+                    }
+                    merged.get(u).put(v, w);
+                }
+
+                assertEquals(m, result.inputEdges);
+                assertEquals(outOfRange, result.outOfRange);
+                assertEquals(selfLoops, result.selfLoops);
+                assertEquals(duplicates, result.duplicates);
+                assertEquals(firstOutOfRange, result.firstOutOfRange);
+                CsrGraph csr = result.graph;
+                assertEquals(n, csr.getVertexCount());
+                for (int u = 0; u < n; u++) {
+                    List<int[]> expected = new ArrayList<>(kept.get(u));
+                    merged.get(u).forEach((v, w) -> expected.add(new int[]{v, (int) (long) w}));
+                    assertEquals(expected.size(), csr.getOutDegree(u));
+                    for (int i = 0; i < expected.size(); i++) {
+                        assertEquals(expected.get(i)[0], csr.getTarget(u, i));
+                        assertEquals(expected.get(i)[1], csr.getWeight(u, i));
+                    }
+                }
+            }
+        }
+        pool.shutdown();
+
+        // Clean input gives the same adjacency as adding the edges to a Graph
+        int cleanN = 5_000;
+        List<int[]> edges = new ArrayList<>();
+        for (int u = 0; u < cleanN; u++) {
+            for (int j = 0; j < 3; j++) {
+                edges.add(new int[]{u, (u + 1 + 7 * j) % cleanN, random.nextInt(10) + 1});
+            }
+        }
+        Collections.shuffle(edges, random);
+        Graph graph = new Graph(cleanN, true);
+        int[] us = new int[edges.size()];
+        int[] vs = new int[us.length];
+        int[] ws = new int[us.length];
+        int k = 0;
+        for (int[] edge : edges) {
+            graph.addEdge(edge[0], edge[1], edge[2]);
+            us[k] = edge[0];
+            vs[k] = edge[1];
+            ws[k++] = edge[2];
+        }
+        EdgeNormalizer.Result clean = new EdgeNormalizer().normalize(graph.getVertexCount(), us, vs, ws, k);
+        assertTrue(clean.isClean());
+        for (int u = 0; u < graph.getVertexCount(); u++) {
+            assertEquals(graph.getOutDegree(u), clean.graph.getOutDegree(u));
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                assertEquals(graph.getTarget(u, i), clean.graph.getTarget(u, i));
+                assertEquals(graph.getWeight(u, i), clean.graph.getWeight(u, i));
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new EdgeNormalizer().normalize(3, us, vs, ws, us.length + 1));
+    }
+
+    private static java.util.BitSet simpleBfs(Graph graph, int[] sources) {
+        java.util.BitSet visited = new java.util.BitSet();
+        java.util.ArrayDeque<Integer> queue = new java.util.ArrayDeque<>();
+        for (int s : sources) queue.add(s);
+        while (!queue.isEmpty()) {
+            for (Graph.Edge edge : graph.getNeighbors(queue.poll())) {
+                if (!visited.get(edge.to)) {
+                    visited.set(edge.to);
+                    queue.add(edge.to);
+                }
+            }
+        }
+        return visited;
+    }
+
+    private static void assertSamePaths(DAGShortestPath.PathResult expected, DAGShortestPath.PathResult actual) {
+        assertArrayEquals(expected.distances, actual.distances);
+        assertArrayEquals(expected.parent, actual.parent);
+        assertEquals(expected.source, actual.source);
+    }
+
+    private static Graph randomGraph(int n, int m, Random random) {
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < m; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(10) + 1);
+        }
+        return graph;
+    }
+
+    /**
+     * Random DAG over shuffled vertex labels, so the topological order is not the identity.
+     */
+    private static Graph randomDag(int n, int avgDegree, int window, Random random) {
+        List<Integer> labels = new ArrayList<>();
+        for (int i = 0; i < n; i++) labels.add(i);
+        Collections.shuffle(labels, random);
+
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < n - 1; i++) {
+            for (int k = 0; k < avgDegree; k++) {
+                int j = i + 1 + random.nextInt(Math.min(window, n - 1 - i));
+                graph.addEdge(labels.get(i), labels.get(j), random.nextInt(10) + 1);
+            }
+        }
+        return graph;
+    }
+}